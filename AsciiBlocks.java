@@ -0,0 +1,98 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+//Classifies ASCII bytes eight at a time by treating a long as eight lanes (SWAR), so runs of
+//whitespace and the bodies of words can be stepped over a block at a time instead of a byte at a
+//time. For a lane x below 0x80, x + (0x80 - lo) has its top bit set exactly when x >= lo and
+//x + (0x7F - hi) exactly when x > hi, and neither sum carries into the next lane. Lanes with the
+//top bit already set are not ASCII and always stop a skip, so the caller can bail out on them.
+class AsciiBlocks {
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGH = 0x8080808080808080L;
+
+	//Flags returned by scanWord alongside the end of the word
+	static final int SAW_LETTER = 1;
+	static final int SAW_PUNCT = 2;
+
+	//Top bit of each lane whose byte is in [lo, hi]; x must have no top bits set
+	private static long inRange(long x, int lo, int hi) {
+		return (x + ONES * (0x80 - lo)) & ~(x + ONES * (0x7F - hi)) & HIGH;
+	}
+
+	private static long spaces(long x) {
+		return inRange(x, '\t', '\r') | inRange(x, ' ', ' ');
+	}
+
+	private static long digits(long x) {
+		return inRange(x, '0', '9');
+	}
+
+	//Setting bit 5 folds A-Z onto a-z without folding anything else into it
+	private static long letters(long x) {
+		return inRange(x | ONES * 0x20, 'a', 'z');
+	}
+
+	//[ ] and . which glue into a word
+	private static long punct(long x) {
+		return inRange(x, '[', '[') | inRange(x, ']', ']') | inRange(x, '.', '.');
+	}
+
+	//Index of the lane of the lowest-addressed top bit set in mask, which must not be 0
+	private static int firstLane(long mask, ByteOrder order) {
+		return order == ByteOrder.BIG_ENDIAN ? Long.numberOfLeadingZeros(mask) >>> 3
+				: Long.numberOfTrailingZeros(mask) >>> 3;
+	}
+
+	//The first index from i that is not whitespace, or limit
+	static int skipSpaces(ByteBuffer source, int i, int limit) {
+		ByteOrder order = source.order();
+		while (i + 8 <= limit) {
+			long block = source.getLong(i);
+			long stop = (block & HIGH) | ~spaces(block & ~HIGH) & HIGH;
+			if (stop != 0)
+				return i + firstLane(stop, order);
+			i += 8;
+		}
+		for (byte b; i < limit && (b = source.get(i)) >= 0; i++)
+			if (LexicalAnalyser.classOf((char) b) != LexicalAnalyser.SPACE)
+				break;
+		return i;
+	}
+
+	//The first index from i that cannot continue a word (a digit, letter, [ ] or .), or limit, in
+	//the low 32 bits, with SAW_LETTER and SAW_PUNCT above them for what was stepped over
+	static long scanWord(ByteBuffer source, int i, int limit) {
+		ByteOrder order = source.order();
+		int flags = 0;
+		while (i + 8 <= limit) {
+			long block = source.getLong(i);
+			long ascii = block & ~HIGH;
+			long letter = letters(ascii);
+			long punct = punct(ascii);
+			long stop = (block & HIGH) | ~(digits(ascii) | letter | punct) & HIGH;
+			int lanes = stop == 0 ? 8 : firstLane(stop, order);
+			//Only the lanes before the stop count
+			long taken = lanes == 8 ? -1L
+					: order == ByteOrder.BIG_ENDIAN ? ~(-1L >>> (lanes << 3)) : (1L << (lanes << 3)) - 1;
+			if ((letter & taken) != 0)
+				flags |= SAW_LETTER;
+			if ((punct & taken) != 0)
+				flags |= SAW_PUNCT;
+			i += lanes;
+			if (lanes < 8)
+				return (long) flags << 32 | i;
+		}
+		for (byte b; i < limit && (b = source.get(i)) >= 0; i++) {
+			byte cls = LexicalAnalyser.classOf((char) b);
+			if (cls == LexicalAnalyser.LETTER)
+				flags |= SAW_LETTER;
+			else if (cls == LexicalAnalyser.WORD)
+				flags |= SAW_PUNCT;
+			else if (cls != LexicalAnalyser.DIGIT)
+				break;
+		}
+		return (long) flags << 32 | i;
+	}
+
+}
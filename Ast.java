@@ -0,0 +1,336 @@
+//A compact syntax tree for SimpleJava, built by AstBuilder. The parse tree's LL(1) scaffolding is
+//gone: operator chains are left-nested BinaryOps, los chains are arrays of statements in a Block,
+//and wrappers such as stat, expr and the epsilon nodes have no counterpart. Empty statements are
+//dropped. toString gives the program back as source, with every binary operation in parentheses.
+public class Ast {
+
+	public abstract static class Node {
+	}
+
+	public abstract static class Expression extends Node {
+	}
+
+	public abstract static class Statement extends Node {
+	}
+
+	public static class Program extends Node {
+
+		private final String name;
+		private final Block body;
+
+		Program(String name, Block body) {
+			this.name = name;
+			this.body = body;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		//main's body
+		public Block getBody() {
+			return this.body;
+		}
+
+		@Override
+		public String toString() {
+			return "public class " + name + " { public static void main(String[] args) " + body + " }";
+		}
+
+	}
+
+	public static class Block extends Node {
+
+		private final Statement[] statements;
+
+		Block(Statement[] statements) {
+			this.statements = statements;
+		}
+
+		public int size() {
+			return statements.length;
+		}
+
+		public Statement get(int index) {
+			return statements[index];
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("{");
+			for (Statement statement : statements)
+				sb.append(' ').append(statement);
+			return sb.append(statements.length == 0 ? "}" : " }").toString();
+		}
+
+	}
+
+	public static class Assign extends Statement {
+
+		private final String name;
+		private final Expression value;
+
+		Assign(String name, Expression value) {
+			this.name = name;
+			this.value = value;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public Expression getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return name + " = " + value + ";";
+		}
+
+	}
+
+	public static class Decl extends Statement {
+
+		private final String type;
+		private final String name;
+		private final Expression value;
+
+		Decl(String type, String name, Expression value) {
+			this.type = type;
+			this.name = name;
+			this.value = value;
+		}
+
+		//int, boolean or char
+		public String getType() {
+			return this.type;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		//null when the declaration has no initialiser
+		public Expression getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return type + " " + name + (value == null ? ";" : " = " + value + ";");
+		}
+
+	}
+
+	public static class Print extends Statement {
+
+		private final Expression value;
+
+		Print(Expression value) {
+			this.value = value;
+		}
+
+		public Expression getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return "System.out.println(" + value + ");";
+		}
+
+	}
+
+	public static class While extends Statement {
+
+		private final Expression condition;
+		private final Block body;
+
+		While(Expression condition, Block body) {
+			this.condition = condition;
+			this.body = body;
+		}
+
+		public Expression getCondition() {
+			return this.condition;
+		}
+
+		public Block getBody() {
+			return this.body;
+		}
+
+		@Override
+		public String toString() {
+			return "while (" + condition + ") " + body;
+		}
+
+	}
+
+	public static class For extends Statement {
+
+		private final Statement init;
+		private final Expression condition;
+		private final Expression update;
+		private final Block body;
+
+		For(Statement init, Expression condition, Expression update, Block body) {
+			this.init = init;
+			this.condition = condition;
+			this.update = update;
+			this.body = body;
+		}
+
+		//An Assign or Decl, or null
+		public Statement getInit() {
+			return this.init;
+		}
+
+		public Expression getCondition() {
+			return this.condition;
+		}
+
+		//null when there is none
+		public Expression getUpdate() {
+			return this.update;
+		}
+
+		public Block getBody() {
+			return this.body;
+		}
+
+		@Override
+		public String toString() {
+			String start = init == null ? ";" : init.toString();
+			return "for (" + start + " " + condition + "; " + (update == null ? "" : update) + ") " + body;
+		}
+
+	}
+
+	//if, then each else if and else in order. An else has a null condition; the grammar lets more
+	//branches follow it.
+	public static class If extends Statement {
+
+		private final Expression[] conditions;
+		private final Block[] blocks;
+
+		If(Expression[] conditions, Block[] blocks) {
+			this.conditions = conditions;
+			this.blocks = blocks;
+		}
+
+		public int size() {
+			return blocks.length;
+		}
+
+		public Expression getCondition(int branch) {
+			return conditions[branch];
+		}
+
+		public Block getBlock(int branch) {
+			return blocks[branch];
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < blocks.length; i++) {
+				if (i > 0)
+					sb.append(" else ");
+				if (conditions[i] != null)
+					sb.append("if (").append(conditions[i]).append(") ");
+				sb.append(blocks[i]);
+			}
+			return sb.toString();
+		}
+
+	}
+
+	//Every binary operator: arithmetic, relational, ==, != and &&. Chains of one precedence
+	//level nest to the left.
+	public static class BinaryOp extends Expression {
+
+		private final Token.TokenType operator;
+		private final Expression left;
+		private final Expression right;
+
+		BinaryOp(Token.TokenType operator, Expression left, Expression right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		public Token.TokenType getOperator() {
+			return this.operator;
+		}
+
+		public Expression getLeft() {
+			return this.left;
+		}
+
+		public Expression getRight() {
+			return this.right;
+		}
+
+		@Override
+		public String toString() {
+			return "(" + left + " " + operator.getSpelling() + " " + right + ")";
+		}
+
+	}
+
+	public static class Variable extends Expression {
+
+		private final String name;
+
+		Variable(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+
+	}
+
+	//A NUM, TRUE, FALSE, CHARLIT or STRINGLIT token
+	public static class Literal extends Expression {
+
+		private final Token token;
+
+		Literal(Token token) {
+			this.token = token;
+		}
+
+		public Token.TokenType getType() {
+			return token.getType();
+		}
+
+		//The number, character or string as written, or true or false
+		public String getValue() {
+			return token.getValue().orElse(token.getType().getSpelling());
+		}
+
+		@Override
+		public String toString() {
+			switch (token.getType()) {
+			case CHARLIT:
+				return "'" + getValue() + "'";
+			case STRINGLIT:
+				return "\"" + getValue() + "\"";
+			default:
+				return getValue();
+			}
+		}
+
+	}
+
+	private Ast() {
+	}
+
+}
@@ -0,0 +1,211 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Builds an Ast straight from the parser's events, without a parse tree in between, or lowers a
+//ParseTree that has already been built by replaying it as the same events.
+//Terminals and finished nodes go on one stack of values. When a variable is exited, what it left
+//on the stack is replaced by its node; variables that are only scaffolding, los and the primed
+//operator tails among them, leave their values where they are for the variable above to use. So a
+//chain like term -> factor termprime arrives at term as factor, operator, factor, ... and is folded
+//to the left there, and the statements of a los chain arrive at the block around it in order.
+public class AstBuilder implements ParseListener {
+
+	private Object[] values = new Object[64];
+	private int size;
+	//Where each entered variable's values start
+	private int[] marks = new int[64];
+	private int depth;
+	private Ast.Program program;
+
+	public static Ast.Program parse(TokenBuffer tokens) throws SyntaxException {
+		AstBuilder builder = new AstBuilder();
+		SyntacticAnalyser.parse(tokens, builder);
+		return builder.getProgram();
+	}
+
+	public static Ast.Program parse(List<Token> tokens) throws SyntaxException {
+		AstBuilder builder = new AstBuilder();
+		SyntacticAnalyser.parse(tokens, builder);
+		return builder.getProgram();
+	}
+
+	//Walks the tree with a stack of its own, so deep trees can be lowered
+	public static Ast.Program lower(ParseTree tree) {
+		AstBuilder builder = new AstBuilder();
+		List<TreeNode> pending = new ArrayList<TreeNode>();
+		//A null entry stands for the exit of the variable under it
+		pending.add(tree.getRoot());
+		while (!pending.isEmpty()) {
+			TreeNode node = pending.remove(pending.size() - 1);
+			if (node == null) {
+				builder.exit(pending.remove(pending.size() - 1).getLabel());
+				continue;
+			}
+			int count = node.childCount();
+			if (node.getLabel() == TreeNode.Label.terminal) {
+				builder.terminal(node.getToken().get());
+			} else if (count == 1 && node.childAt(0).getLabel() == TreeNode.Label.epsilon) {
+				builder.epsilon(node.getLabel());
+			} else {
+				builder.enter(node.getLabel());
+				pending.add(node);
+				pending.add(null);
+				for (int i = count - 1; i >= 0; i--)
+					pending.add(node.childAt(i));
+			}
+		}
+		return builder.getProgram();
+	}
+
+	//The program once prog has been exited, or null before
+	public Ast.Program getProgram() {
+		return this.program;
+	}
+
+	@Override
+	public void enter(TreeNode.Label variable) {
+		if (depth == marks.length)
+			marks = Arrays.copyOf(marks, depth * 2);
+		marks[depth++] = size;
+	}
+
+	@Override
+	public void exit(TreeNode.Label variable) {
+		int from = marks[--depth];
+		Object node;
+		switch (variable) {
+		case prog:
+			program = new Ast.Program(value(from + 2), block(from + 13, size - 2));
+			size = from;
+			return;
+		case stat:
+			//A statement, then its ; if it has one; a lone ; is dropped
+			node = values[from] instanceof Ast.Statement ? values[from] : null;
+			break;
+		case whilestat: {
+			int close = find(from + 2, Token.TokenType.RPAREN);
+			node = new Ast.While(fold(from + 2, close), block(close + 2, size - 1));
+			break;
+		}
+		case forstat: {
+			int i = from + 2;
+			Ast.Statement init = values[i] instanceof Ast.Statement ? (Ast.Statement) values[i++] : null;
+			int second = find(i + 1, Token.TokenType.SEMICOLON);
+			Ast.Expression condition = fold(i + 1, second);
+			Ast.Expression update = values[second + 1] instanceof Ast.Expression ? (Ast.Expression) values[second + 1]
+					: null;
+			node = new Ast.For(init, condition, update, block(find(second + 1, Token.TokenType.LBRACE) + 1, size - 1));
+			break;
+		}
+		case ifstat:
+			node = branches(from);
+			break;
+		case assign:
+			node = new Ast.Assign(value(from), (Ast.Expression) values[from + 2]);
+			break;
+		case decl:
+			node = new Ast.Decl(value(from), value(from + 1),
+					size - from > 2 ? (Ast.Expression) values[from + 3] : null);
+			break;
+		case print:
+			node = new Ast.Print((Ast.Expression) values[from + 2]);
+			break;
+		case factor:
+			node = size - from == 3 ? values[from + 1] : leaf((Token) values[from]);
+			break;
+		case charexpr:
+			node = new Ast.Literal((Token) values[from + 1]);
+			break;
+		case printexpr:
+			node = isToken(from, Token.TokenType.DQUOTE) ? new Ast.Literal((Token) values[from + 1]) : fold(from, size);
+			break;
+		case relexpr:
+			node = values[from] instanceof Token ? new Ast.Literal((Token) values[from]) : fold(from, size);
+			break;
+		case expr:
+		case arithexpr:
+		case term:
+			node = fold(from, size);
+			break;
+		default:
+			return;
+		}
+		size = from;
+		if (node != null)
+			push(node);
+	}
+
+	@Override
+	public void terminal(Token token) {
+		push(token);
+	}
+
+	@Override
+	public void epsilon(TreeNode.Label variable) {
+	}
+
+	private void push(Object value) {
+		if (size == values.length)
+			values = Arrays.copyOf(values, size * 2);
+		values[size++] = value;
+	}
+
+	//Folds expression, operator, expression, ... to the left
+	private Ast.Expression fold(int from, int to) {
+		Ast.Expression left = (Ast.Expression) values[from];
+		for (int i = from + 1; i < to; i += 2)
+			left = new Ast.BinaryOp(((Token) values[i]).getType(), left, (Ast.Expression) values[i + 1]);
+		return left;
+	}
+
+	private Ast.Block block(int from, int to) {
+		return new Ast.Block(Arrays.copyOfRange(values, from, to, Ast.Statement[].class));
+	}
+
+	//IF ( condition ) { statements } then, for each else, ELSE [IF ( condition )] { statements }
+	private Ast.If branches(int from) {
+		List<Ast.Expression> conditions = new ArrayList<Ast.Expression>();
+		List<Ast.Block> blocks = new ArrayList<Ast.Block>();
+		int i = from;
+		while (i < size) {
+			if (isToken(i, Token.TokenType.ELSE))
+				i++;
+			Ast.Expression condition = null;
+			if (isToken(i, Token.TokenType.IF)) {
+				int close = find(i + 2, Token.TokenType.RPAREN);
+				condition = fold(i + 2, close);
+				i = close + 1;
+			}
+			int end = find(i + 1, Token.TokenType.RBRACE);
+			conditions.add(condition);
+			blocks.add(block(i + 1, end));
+			i = end + 1;
+		}
+		return new Ast.If(conditions.toArray(new Ast.Expression[0]), blocks.toArray(new Ast.Block[0]));
+	}
+
+	//The first token of the type at or after from. Nested blocks and parentheses have already been
+	//folded into nodes by then.
+	private int find(int from, Token.TokenType type) {
+		int i = from;
+		while (!isToken(i, type))
+			i++;
+		return i;
+	}
+
+	private boolean isToken(int index, Token.TokenType type) {
+		return values[index] instanceof Token && ((Token) values[index]).getType() == type;
+	}
+
+	private String value(int index) {
+		return ((Token) values[index]).getValue().get();
+	}
+
+	private static Ast.Expression leaf(Token token) {
+		if (token.getType() == Token.TokenType.ID)
+			return new Ast.Variable(token.getValue().get());
+		return new Ast.Literal(token);
+	}
+
+}
@@ -0,0 +1,160 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+//Shared helpers for the benchmark programs: a generator for large SimpleJava inputs that both
+//analysers accept, a simple warmed-up timer, and measures of allocated and retained heap.
+class BenchmarkSupport {
+
+	public interface Task {
+		void run() throws Exception;
+	}
+
+	//Builds a syntactically valid program of roughly the given number of statements, with a mix of
+	//declarations, assignments, prints, loops and conditionals nested up to three levels deep.
+	public static String generateProgram(int statements, long seed) {
+		Random random = new Random(seed);
+		StringBuilder sb = new StringBuilder(statements * 40);
+		sb.append("public class Generated {\n\tpublic static void main(String[] args) {\n");
+		int[] remaining = { statements };
+		appendStatements(sb, random, remaining, 2, 0);
+		sb.append("\t}\n}\n");
+		return sb.toString();
+	}
+
+	private static void appendStatements(StringBuilder sb, Random random, int[] remaining, int indent, int depth) {
+		while (remaining[0] > 0) {
+			remaining[0]--;
+			indent(sb, indent);
+			int kind = random.nextInt(depth < 3 ? 10 : 7);
+			switch (kind) {
+			case 0:
+			case 1:
+				sb.append("int v").append(random.nextInt(1000)).append(" = ").append(arith(random)).append(";\n");
+				break;
+			case 2:
+				sb.append("v").append(random.nextInt(1000)).append(" = ").append(arith(random)).append(";\n");
+				break;
+			case 3:
+				sb.append("char c").append(random.nextInt(100)).append(" = '").append((char) ('a' + random.nextInt(26)))
+						.append("';\n");
+				break;
+			case 4:
+				sb.append("boolean b").append(random.nextInt(100)).append(" = ").append(condition(random))
+						.append(";\n");
+				break;
+			case 5:
+				sb.append("System.out.println(\"message").append(random.nextInt(100)).append("\");\n");
+				break;
+			case 6:
+				sb.append("System.out.println(").append(arith(random)).append(");\n");
+				break;
+			case 7:
+				sb.append("while (").append(condition(random)).append(") {\n");
+				appendBlock(sb, random, remaining, indent, depth);
+				sb.append("\n");
+				break;
+			case 8:
+				sb.append("for (int i = 0; i == 0; i + 1) {\n");
+				appendBlock(sb, random, remaining, indent, depth);
+				sb.append("\n");
+				break;
+			default:
+				sb.append("if (").append(condition(random)).append(") {\n");
+				appendBlock(sb, random, remaining, indent, depth);
+				sb.append(" else {\n");
+				appendBlock(sb, random, remaining, indent, depth);
+				sb.append("\n");
+				break;
+			}
+		}
+	}
+
+	private static void appendBlock(StringBuilder sb, Random random, int[] remaining, int indent, int depth) {
+		int[] inner = { Math.min(remaining[0], 1 + random.nextInt(8)) };
+		remaining[0] -= inner[0];
+		appendStatements(sb, random, inner, indent + 1, depth + 1);
+		indent(sb, indent);
+		sb.append("}");
+	}
+
+	private static String arith(Random random) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(operand(random));
+		for (int i = random.nextInt(4); i > 0; i--)
+			sb.append(' ').append("+-*/%".charAt(random.nextInt(5))).append(' ').append(operand(random));
+		return sb.toString();
+	}
+
+	private static String operand(Random random) {
+		switch (random.nextInt(3)) {
+		case 0:
+			return Integer.toString(random.nextInt(100000));
+		case 1:
+			return "v" + random.nextInt(1000);
+		default:
+			return "(x" + random.nextInt(50) + " * " + random.nextInt(10) + ")";
+		}
+	}
+
+	private static String condition(Random random) {
+		switch (random.nextInt(3)) {
+		case 0:
+			return random.nextBoolean() ? "true" : "false";
+		case 1:
+			return arith(random) + " == " + arith(random);
+		default:
+			return "v" + random.nextInt(1000) + " == " + random.nextInt(10) + " && true";
+		}
+	}
+
+	private static void indent(StringBuilder sb, int indent) {
+		for (int i = 0; i < indent; i++)
+			sb.append('\t');
+	}
+
+	//Runs the task until it has been timed for at least the given number of milliseconds, after a
+	//warm-up of the same length, and returns the average nanoseconds per run.
+	public static double nanosPerRun(Task task, long millis) throws Exception {
+		long deadline = System.nanoTime() + millis * 1_000_000L;
+		while (System.nanoTime() < deadline)
+			task.run();
+
+		int runs = 0;
+		long start = System.nanoTime();
+		deadline = start + millis * 1_000_000L;
+		long now;
+		do {
+			task.run();
+			runs++;
+		} while ((now = System.nanoTime()) < deadline);
+		return (double) (now - start) / runs;
+	}
+
+	//Runs the task once to warm up, then the given number of times, and returns the average bytes
+	//the current thread allocated per run
+	public static double bytesPerRun(int runs, Task task) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		task.run();
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < runs; i++)
+			task.run();
+		return (double) (threads.getThreadAllocatedBytes(thread) - before) / runs;
+	}
+
+	//The heap in use once garbage collection has had a few chances to run
+	public static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static double megabytesPerSecond(int chars, double nanosPerRun) {
+		return chars / (nanosPerRun / 1e9) / (1024 * 1024);
+	}
+
+}
@@ -0,0 +1,383 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//Writes a ParseTree in a compact binary format, and reads it back as TreeNodes made only as they
+//are reached, straight from a ByteBuffer such as a memory-mapped file. The format is
+//	magic "PTRB", version byte
+//	string table: varint count, then each token value as a varint length and UTF-8 bytes
+//	a byte, 0 for an empty tree or 1 for a root node, then the nodes in preorder:
+//		terminal: label byte, token type byte, varint 1 + index of its value in the table, or 0
+//		otherwise: label byte, varint child count, and if there are children, the varint byte
+//		length of all of them, so a reader can step over a subtree
+//Varints are unsigned, seven bits a byte, low bits first. Each value is stored once however many
+//tokens have it. A terminal's parent is not stored: as SyntacticAnalyser.parse has it, it is the
+//node holding the token before, or the root for the first token, and is found again on reading.
+public class BinaryParseTree {
+
+	static final byte[] MAGIC = { 'P', 'T', 'R', 'B' };
+	static final int VERSION = 1;
+
+	private static final TreeNode.Label[] LABELS = TreeNode.Label.values();
+	private static final Token.TokenType[] TYPES = Token.TokenType.values();
+
+	public static void write(ParseTree tree, OutputStream out) throws IOException {
+		TreeNode root = tree.getRoot();
+		List<TreeNode> order = new ArrayList<TreeNode>();
+		Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+		int[] lengths = root == null ? new int[0] : measure(root, order, strings);
+
+		Output output = new Output(out);
+		output.write(MAGIC);
+		output.write(VERSION);
+		output.varint(strings.size());
+		for (String value : strings.keySet()) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			output.varint(bytes.length);
+			output.write(bytes);
+		}
+		output.write(root == null ? 0 : 1);
+		for (int n = 0; n < order.size(); n++) {
+			TreeNode node = order.get(n);
+			output.write(node.getLabel().ordinal());
+			if (node.getLabel() == TreeNode.Label.terminal) {
+				Optional<String> value = node.getToken().get().getValue();
+				output.write(node.getToken().get().getType().ordinal());
+				output.varint(value.isPresent() ? strings.get(value.get()) + 1 : 0);
+				continue;
+			}
+			int count = node.childCount();
+			output.varint(count);
+			if (count > 0)
+				output.varint(lengths[n]);
+		}
+		output.flush();
+	}
+
+	//Numbers the nodes in preorder into order, collects the token values, and returns the encoded
+	//length of each node's children
+	private static int[] measure(TreeNode root, List<TreeNode> order, Map<String, Integer> strings) {
+		List<TreeNode> pending = new ArrayList<TreeNode>();
+		pending.add(root);
+		while (!pending.isEmpty()) {
+			TreeNode node = pending.remove(pending.size() - 1);
+			order.add(node);
+			if (node.getLabel() == TreeNode.Label.terminal) {
+				Optional<String> value = node.getToken().get().getValue();
+				if (value.isPresent() && !strings.containsKey(value.get()))
+					strings.put(value.get(), strings.size());
+			}
+			for (int i = node.childCount() - 1; i >= 0; i--)
+				pending.add(node.childAt(i));
+		}
+		//In reverse preorder every child comes before its parent
+		int[] sizes = new int[order.size()];
+		int[] lengths = new int[order.size()];
+		int[] ends = new int[order.size()];
+		for (int n = order.size() - 1; n >= 0; n--) {
+			TreeNode node = order.get(n);
+			if (node.getLabel() == TreeNode.Label.terminal) {
+				Optional<String> value = node.getToken().get().getValue();
+				sizes[n] = 2 + varintSize(value.isPresent() ? strings.get(value.get()) + 1 : 0);
+				ends[n] = n + 1;
+				continue;
+			}
+			int count = node.childCount();
+			int length = 0;
+			int child = n + 1;
+			for (int i = 0; i < count; i++) {
+				length += sizes[child];
+				child = ends[child];
+			}
+			ends[n] = child;
+			lengths[n] = length;
+			sizes[n] = 1 + varintSize(count) + (count > 0 ? varintSize(length) : 0) + length;
+		}
+		return lengths;
+	}
+
+	//Reads a tree written by write. Only the header and string lengths are read now; nodes are read
+	//from the buffer as they are reached, and cannot be changed. The buffer must not change while
+	//the tree is in use.
+	public static ParseTree read(ByteBuffer buffer) throws IOException {
+		Input input = new Input(buffer.duplicate());
+		byte[] magic = new byte[MAGIC.length];
+		for (int i = 0; i < magic.length; i++)
+			magic[i] = (byte) input.read();
+		if (!Arrays.equals(magic, MAGIC))
+			throw new IOException("Not a binary parse tree");
+		int version = input.read();
+		if (version != VERSION)
+			throw new IOException("Unsupported binary parse tree version " + version);
+		int count = input.varint();
+		int[] starts = new int[count];
+		int[] lengths = new int[count];
+		for (int i = 0; i < count; i++) {
+			lengths[i] = input.varint();
+			starts[i] = input.position;
+			input.position += lengths[i];
+		}
+		Table table = new Table(input.buffer, starts, lengths);
+		if (input.read() == 0)
+			return new ParseTree();
+		return new ParseTree(new Node(table, input.position, null, 0));
+	}
+
+	//Maps the file and reads the tree from it
+	public static ParseTree read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	static int varintSize(int value) {
+		int size = 1;
+		while ((value >>>= 7) != 0)
+			size++;
+		return size;
+	}
+
+	private static class Output {
+
+		private final OutputStream out;
+		private final byte[] buffer = new byte[8192];
+		private int size;
+
+		Output(OutputStream out) {
+			this.out = out;
+		}
+
+		void write(int b) throws IOException {
+			if (size == buffer.length)
+				flush();
+			buffer[size++] = (byte) b;
+		}
+
+		void write(byte[] bytes) throws IOException {
+			for (byte b : bytes)
+				write(b);
+		}
+
+		void varint(int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				write(value & 0x7F | 0x80);
+				value >>>= 7;
+			}
+			write(value);
+		}
+
+		void flush() throws IOException {
+			out.write(buffer, 0, size);
+			size = 0;
+			out.flush();
+		}
+
+	}
+
+	//Reads at a position of its own, leaving the buffer's alone
+	private static class Input {
+
+		final ByteBuffer buffer;
+		int position;
+
+		Input(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.position = buffer.position();
+		}
+
+		Input(ByteBuffer buffer, int position) {
+			this.buffer = buffer;
+			this.position = position;
+		}
+
+		int read() {
+			return buffer.get(position++) & 0xFF;
+		}
+
+		int varint() {
+			int value = 0;
+			for (int shift = 0;; shift += 7) {
+				int b = read();
+				value |= (b & 0x7F) << shift;
+				if (b < 0x80)
+					return value;
+			}
+		}
+
+	}
+
+	//The string table, each value decoded the first time it is asked for
+	private static class Table {
+
+		final ByteBuffer buffer;
+		private final int[] starts;
+		private final int[] lengths;
+		private final String[] values;
+
+		Table(ByteBuffer buffer, int[] starts, int[] lengths) {
+			this.buffer = buffer;
+			this.starts = starts;
+			this.lengths = lengths;
+			this.values = new String[starts.length];
+		}
+
+		String get(int index) {
+			if (values[index] == null) {
+				byte[] bytes = new byte[lengths[index]];
+				buffer.get(starts[index], bytes);
+				values[index] = new String(bytes, StandardCharsets.UTF_8);
+			}
+			return values[index];
+		}
+
+	}
+
+	//A node read from the buffer at offset, under parent as its index-th child. Its children are
+	//read the first time they are asked for and kept, so each is the same object after.
+	private static class Node extends TreeNode {
+
+		private final Table table;
+		private final int offset;
+		private final Node parent;
+		private final int index;
+		private Token token;
+		private List<TreeNode> children;
+		private TreeNode holder;
+
+		Node(Table table, int offset, Node parent, int index) {
+			super(LABELS[table.buffer.get(offset)], null);
+			this.table = table;
+			this.offset = offset;
+			this.parent = parent;
+			this.index = index;
+		}
+
+		@Override
+		public Optional<Token> getToken() {
+			if (token == null && getLabel() == TreeNode.Label.terminal) {
+				Input input = new Input(table.buffer, offset + 1);
+				Token.TokenType type = TYPES[input.read()];
+				int value = input.varint();
+				if (value != 0)
+					token = new Token(type, table.get(value - 1));
+				else
+					token = Token.isFixed(type) ? Token.of(type) : new Token(type);
+			}
+			return Optional.ofNullable(token);
+		}
+
+		@Override
+		public TreeNode getParent() {
+			if (getLabel() != TreeNode.Label.terminal)
+				return parent;
+			if (holder == null)
+				holder = holderOfPreviousToken();
+			return holder;
+		}
+
+		@Override
+		public List<TreeNode> getChildren() {
+			if (children == null) {
+				TreeNode[] nodes = new TreeNode[0];
+				if (getLabel() != TreeNode.Label.terminal) {
+					Input input = new Input(table.buffer, offset + 1);
+					nodes = new TreeNode[input.varint()];
+					if (nodes.length > 0)
+						input.varint();
+					for (int i = 0; i < nodes.length; i++) {
+						nodes[i] = new Node(table, input.position, this, i);
+						input.position = end(input.position);
+					}
+				}
+				TreeNode[] read = nodes;
+				children = new AbstractList<TreeNode>() {
+					@Override
+					public TreeNode get(int index) {
+						return read[index];
+					}
+
+					@Override
+					public int size() {
+						return read.length;
+					}
+				};
+			}
+			return children;
+		}
+
+		@Override
+		int childCount() {
+			return getChildren().size();
+		}
+
+		@Override
+		TreeNode childAt(int index) {
+			return getChildren().get(index);
+		}
+
+		@Override
+		public void addChild(TreeNode child) {
+			throw new UnsupportedOperationException("A parse tree read from bytes cannot be changed");
+		}
+
+		@Override
+		void setParent(TreeNode parent) {
+			throw new UnsupportedOperationException("A parse tree read from bytes cannot be changed");
+		}
+
+		//Where the node starting at position ends, stepping over its children
+		private int end(int position) {
+			Input input = new Input(table.buffer, position);
+			if (LABELS[input.read()] == TreeNode.Label.terminal) {
+				input.read();
+				input.varint();
+				return input.position;
+			}
+			if (input.varint() == 0)
+				return input.position;
+			int length = input.varint();
+			return input.position + length;
+		}
+
+		//The node holding the token before this one, or the root for the first token
+		private TreeNode holderOfPreviousToken() {
+			Node node = this;
+			while (node.parent != null) {
+				for (int i = node.index - 1; i >= 0; i--) {
+					Node last = lastTerminal((Node) node.parent.childAt(i));
+					if (last != null)
+						return last.parent;
+				}
+				node = node.parent;
+			}
+			return node;
+		}
+
+		//Searched from the right with a stack of its own, as subtrees can be deep
+		private static Node lastTerminal(Node subtree) {
+			List<Node> pending = new ArrayList<Node>();
+			pending.add(subtree);
+			while (!pending.isEmpty()) {
+				Node node = pending.remove(pending.size() - 1);
+				if (node.getLabel() == TreeNode.Label.terminal)
+					return node;
+				for (int i = 0; i < node.childCount(); i++)
+					pending.add((Node) node.childAt(i));
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+//Compares the byte-level lexer in MappedLexicalAnalyser stepping over whitespace and word bodies
+//eight bytes at a time (AsciiBlocks) with the same lexer going a byte at a time, on a generated
+//program, on code with very long identifiers and on deeply indented code. Input is in a direct
+//buffer, as a mapped file would be.
+//Usage: java BlockLexerBenchmark [statements] [millisPerMeasurement]
+public class BlockLexerBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+		System.out.printf("%-20s %12s %14s %14s%n", "input", "chars", "bytewise MB/s", "blocks MB/s");
+		measure("generated", BenchmarkSupport.generateProgram(statements, 1337), millis);
+		measure("long identifiers", lines(statements, 4, 48), millis);
+		measure("deep indentation", lines(statements, 48, 4), millis);
+	}
+
+	//Assignments between identifiers of the given length, each line indented by a mix of tabs and
+	//spaces of the given width
+	private static String lines(int count, int indent, int identifierLength) {
+		Random random = new Random(count);
+		StringBuilder sb = new StringBuilder();
+		for (int n = 0; n < count; n++) {
+			for (int i = 0; i < indent; i++)
+				sb.append(i % 4 == 0 ? '\t' : ' ');
+			sb.append(identifier(random, identifierLength)).append(" = ")
+					.append(identifier(random, identifierLength)).append(" + ")
+					.append(random.nextInt(100000)).append(";\n");
+		}
+		return sb.toString();
+	}
+
+	private static String identifier(Random random, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		sb.append((char) ('a' + random.nextInt(26)));
+		while (sb.length() < length)
+			sb.append(random.nextInt(4) == 0 ? (char) ('0' + random.nextInt(10)) : (char) ('A' + random.nextInt(26)));
+		return sb.toString();
+	}
+
+	private static void measure(String name, String source, long millis) throws Exception {
+		byte[] bytes = source.getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+		if (!MappedLexicalAnalyser.analyseAscii(buffer, true).equals(MappedLexicalAnalyser.analyseAscii(buffer, false)))
+			throw new IllegalStateException("Block and bytewise scans disagree on " + name);
+		double bytewise = BenchmarkSupport.nanosPerRun(() -> MappedLexicalAnalyser.analyseAscii(buffer, false), millis);
+		double blocks = BenchmarkSupport.nanosPerRun(() -> MappedLexicalAnalyser.analyseAscii(buffer, true), millis);
+		System.out.printf("%-20s %12d %14.2f %14.2f%n", name, bytes.length,
+				BenchmarkSupport.megabytesPerSecond(bytes.length, bytewise),
+				BenchmarkSupport.megabytesPerSecond(bytes.length, blocks));
+	}
+
+}
@@ -0,0 +1,129 @@
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+
+//What the recursive-descent parser generated by DescentParserGenerator builds on: the token cursor,
+//matching, node creation and errors, all behaving exactly as SyntacticAnalyser's table engine does.
+//Each variable is a method of the generated subclass. Past MAX_DEPTH nested calls a variable is
+//handed to expand, which finishes its subtree from the parse table with a stack of its own, so
+//deeply nested input cannot overflow the thread's stack.
+abstract class DescentParser {
+
+	static final int MAX_DEPTH = 1000;
+
+	private static final Token.TokenType[] TYPES = Token.TokenType.values();
+
+	private final List<Token> tokens;
+	private final int size;
+	private int index;
+	private Token current;
+	//Where the previous token went, a terminal's parent by the rule in ParseTreeBuilder
+	private TreeNode lastParent;
+	protected int depth;
+
+	//The stack expand works with, kept between calls
+	private short[] symbols = new short[64];
+	private TreeNode[] parents = new TreeNode[64];
+
+	DescentParser(List<Token> tokens) {
+		this.tokens = tokens;
+		this.size = tokens.size();
+		this.current = size > 0 ? tokens.get(0) : null;
+	}
+
+	ParseTree parse() throws SyntaxException {
+		TreeNode root = new TreeNode(TreeNode.Label.prog, null);
+		lastParent = root;
+		prog(root);
+		if (index < size)
+			throw new EmptyStackException();
+		//No child ever followed the nodes down the right edge
+		trimRightEdge(root);
+		return new ParseTree(root);
+	}
+
+	//The root already stands for prog
+	abstract void prog(TreeNode root) throws SyntaxException;
+
+	//The token to predict on
+	protected final Token next() throws SyntaxException {
+		if (current == null)
+			throw new SyntaxException(SyntacticAnalyser.STACK_NOT_EMPTY, size);
+		return current;
+	}
+
+	protected final void match(Token.TokenType type, TreeNode parent) throws SyntaxException {
+		Token token = next();
+		if (token.getType() != type)
+			throw new SyntaxException(SyntacticAnalyser.DISCREPANCY, index);
+		add(parent, new TreeNode(TreeNode.Label.terminal, token, lastParent));
+		lastParent = parent;
+		current = ++index < size ? tokens.get(index) : null;
+	}
+
+	protected static TreeNode enter(TreeNode.Label label, TreeNode parent) {
+		TreeNode node = new TreeNode(label, parent);
+		add(parent, node);
+		return node;
+	}
+
+	protected static void empty(TreeNode.Label label, TreeNode parent) {
+		TreeNode node = enter(label, parent);
+		node.addChild(new TreeNode(TreeNode.Label.epsilon, node));
+	}
+
+	//Children are added in order, so the one before is finished, and so is everything down its right
+	//edge, which no sibling has followed to trim
+	private static void add(TreeNode parent, TreeNode child) {
+		int count = parent.childCount();
+		if (count > 0)
+			trimRightEdge(parent.childAt(count - 1));
+		parent.addChild(child);
+	}
+
+	private static void trimRightEdge(TreeNode node) {
+		while (node != null) {
+			node.trimChildren();
+			int count = node.childCount();
+			node = count == 0 ? null : node.childAt(count - 1);
+		}
+	}
+
+	protected final SyntaxException unexpected(TreeNode.Label label, Token token) {
+		return new SyntaxException(SyntacticAnalyser.failedToMatch(ParseTable.symbol(label), token), index);
+	}
+
+	//Parses the variable's whole subtree under parent the way SyntacticAnalyser's table engine does
+	protected final void expand(TreeNode.Label label, TreeNode parent) throws SyntaxException {
+		int height = 0;
+		symbols[height] = ParseTable.symbol(label);
+		parents[height++] = parent;
+		while (height != 0) {
+			int top = symbols[--height];
+			TreeNode under = parents[height];
+			if (ParseTable.isTerminal(top)) {
+				match(TYPES[top], under);
+				continue;
+			}
+			Token token = next();
+			int rule = ParseTable.predict(top, token);
+			if (rule == ParseTable.ERROR)
+				throw unexpected(ParseTable.label(top), token);
+			if (rule == ParseTable.EPSILON) {
+				empty(ParseTable.label(top), under);
+				continue;
+			}
+			TreeNode node = enter(ParseTable.label(top), under);
+			short[] production = ParseTable.production(rule);
+			if (height + production.length > symbols.length) {
+				symbols = Arrays.copyOf(symbols, Math.max(height + production.length, symbols.length * 2));
+				parents = Arrays.copyOf(parents, symbols.length);
+			}
+			for (short symbol : production) {
+				symbols[height] = symbol;
+				parents[height++] = node;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Writes a recursive-descent parser for a grammar: a DescentParser subclass with one small method
+//per variable, switching on the token type the way the grammar's table predicts, so it accepts
+//and rejects exactly what the table engine does. A variable whose alternative ends in itself
+//loops instead of calling itself, so long statement lists and operator chains do not nest.
+//Regenerate SimpleJavaDescentParser after changing ParseTable.GRAMMAR with:
+//    java DescentParserGenerator > SimpleJavaDescentParser.java
+class DescentParserGenerator {
+
+	static final String CLASS_NAME = "SimpleJavaDescentParser";
+
+	private static final Token.TokenType[] TYPES = Token.TokenType.values();
+
+	private final Grammar grammar;
+	private final int[][] table;
+	private final StringBuilder out = new StringBuilder();
+
+	private DescentParserGenerator(Grammar grammar) {
+		this.grammar = grammar;
+		this.table = grammar.table();
+	}
+
+	static String generate(Grammar grammar, String className) {
+		DescentParserGenerator generator = new DescentParserGenerator(grammar);
+		generator.writeClass(className);
+		return generator.out.toString();
+	}
+
+	public static void main(String[] args) {
+		System.out.print(generate(Grammar.parse(ParseTable.GRAMMAR), CLASS_NAME));
+	}
+
+	private void writeClass(String className) {
+		line(0, "import java.util.List;");
+		line(0, "");
+		line(0, "//Generated by DescentParserGenerator from ParseTable.GRAMMAR; do not edit.");
+		line(0, "class " + className + " extends DescentParser {");
+		line(0, "");
+		line(1, className + "(List<Token> tokens) {");
+		line(2, "super(tokens);");
+		line(1, "}");
+		for (TreeNode.Label variable : grammar.getVariables()) {
+			line(0, "");
+			writeMethod(variable);
+		}
+		line(0, "");
+		line(0, "}");
+	}
+
+	private void writeMethod(TreeNode.Label variable) {
+		boolean start = variable == grammar.getStart();
+		boolean loops = !start && endsInItself(variable);
+		if (start) {
+			line(1, "@Override");
+			line(1, "void " + variable + "(TreeNode parent) throws SyntaxException {");
+		} else {
+			line(1, "private void " + variable + "(TreeNode parent) throws SyntaxException {");
+			line(2, "if (depth == MAX_DEPTH) {");
+			line(3, "expand(" + label(variable) + ", parent);");
+			line(3, "return;");
+			line(2, "}");
+			line(2, "depth++;");
+		}
+		int indent = 2;
+		if (loops) {
+			line(2, "while (true) {");
+			indent = 3;
+		}
+		line(indent, "Token token = next();");
+		line(indent, "switch (token.getType()) {");
+		for (Map.Entry<Integer, List<Token.TokenType>> entry : rulesOf(variable).entrySet()) {
+			List<Token.TokenType> types = entry.getValue();
+			for (int i = 0; i < types.size() - 1; i++)
+				line(indent, "case " + types.get(i) + ":");
+			int rule = entry.getKey();
+			if (rule == ParseTable.BY_VALUE) {
+				line(indent, "case " + types.get(types.size() - 1) + ":");
+				writeByValue(variable, indent + 1);
+			} else {
+				writeRule("case " + types.get(types.size() - 1) + ":", variable, rule, start, loops, indent);
+			}
+		}
+		line(indent, "default:");
+		line(indent + 1, "throw unexpected(" + label(variable) + ", token);");
+		line(indent, "}");
+		if (loops) {
+			line(3, "break;");
+			line(2, "}");
+		}
+		if (!start)
+			line(2, "depth--;");
+		line(1, "}");
+	}
+
+	private void writeByValue(TreeNode.Label variable, int indent) {
+		String[] spellings = grammar.valueSpellings(variable);
+		int[] rules = grammar.valueRules(variable);
+		line(indent, "switch (token.getValue().get()) {");
+		for (int i = 0; i < spellings.length; i++) {
+			writeRule("case \"" + spellings[i] + "\":", variable, rules[i], false, false, indent);
+		}
+		line(indent, "default:");
+		line(indent + 1, "throw unexpected(" + label(variable) + ", token);");
+		line(indent, "}");
+		line(indent, "break;");
+	}
+
+	//The case for a rule, opening a block when it declares the variable's node
+	private void writeRule(String label, TreeNode.Label variable, int rule, boolean start, boolean loops, int indent) {
+		if (rule == ParseTable.EPSILON) {
+			line(indent, label);
+			line(indent + 1, "empty(" + label(variable) + ", parent);");
+			line(indent + 1, "break;");
+			return;
+		}
+		Grammar.Production production = grammar.getProductions().get(rule);
+		int length = production.symbols.length;
+		boolean tail = loops && production.symbols[length - 1] == variable;
+		String node = "parent";
+		if (start) {
+			line(indent, label);
+		} else {
+			line(indent, label + " {");
+			line(indent + 1, "TreeNode node = enter(" + label(variable) + ", parent);");
+			node = "node";
+		}
+		for (int i = 0; i < (tail ? length - 1 : length); i++) {
+			Symbol symbol = production.symbols[i];
+			if (symbol.isVariable())
+				line(indent + 1, symbol + "(" + node + ");");
+			else
+				line(indent + 1, "match(Token.TokenType." + symbol + ", " + node + ");");
+		}
+		if (tail) {
+			line(indent + 1, "parent = node;");
+			line(indent + 1, "continue;");
+		} else {
+			line(indent + 1, "break;");
+		}
+		if (!start)
+			line(indent, "}");
+	}
+
+	//Token types grouped by the table entry they have for the variable, leaving out errors
+	private Map<Integer, List<Token.TokenType>> rulesOf(TreeNode.Label variable) {
+		Map<Integer, List<Token.TokenType>> rules = new LinkedHashMap<Integer, List<Token.TokenType>>();
+		for (Token.TokenType type : TYPES) {
+			int rule = table[variable.ordinal()][type.ordinal()];
+			if (rule == ParseTable.ERROR)
+				continue;
+			if (!rules.containsKey(rule))
+				rules.put(rule, new ArrayList<Token.TokenType>());
+			rules.get(rule).add(type);
+		}
+		return rules;
+	}
+
+	private boolean endsInItself(TreeNode.Label variable) {
+		for (int rule : table[variable.ordinal()]) {
+			if (rule <= 0)
+				continue;
+			Symbol[] symbols = grammar.getProductions().get(rule).symbols;
+			if (symbols[symbols.length - 1] == variable)
+				return true;
+		}
+		return false;
+	}
+
+	private static String label(TreeNode.Label variable) {
+		return "TreeNode.Label." + variable;
+	}
+
+	private void line(int indent, String text) {
+		if (!text.isEmpty())
+			for (int i = 0; i < indent; i++)
+				out.append('\t');
+		out.append(text).append('\n');
+	}
+
+}
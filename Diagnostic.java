@@ -0,0 +1,160 @@
+//A lexical or syntax error as a plain record: what went wrong, on which token, and, for tokens from
+//a TokenBuffer, where in the source. Nothing is formatted until asked for, and no stack trace is
+//taken, so rejecting input costs little more than accepting it. toException gives the
+//SyntaxException the throwing parse methods report, and toLexicalException the LexicalException
+//the lexer throws.
+public class Diagnostic {
+
+	public enum Kind {
+		//A terminal on the stack did not match the token
+		DISCREPANCY,
+		//No rule for the variable on the stack starts with the token
+		NO_RULE,
+		//The tokens ran out before the program was complete
+		END_OF_INPUT,
+		//The program was complete before the tokens ran out
+		TRAILING_TOKENS,
+		//The lexer's errors, which come last: a character literal that is not ' and two more
+		//characters ending in '
+		MALFORMED_CHARACTER,
+		//A string literal with no closing " before whitespace, | or the end
+		MALFORMED_STRING,
+		//The source ending right after a character that starts a two-character operator
+		UNEXPECTED_END,
+		//A lexeme that is no token
+		UNRECOGNISED
+	}
+
+	private final Kind kind;
+	private final int variable;
+	private final Token token;
+	private final int tokenIndex;
+	private final TokenBuffer source;
+	//The offending text, for a lexical error
+	private final int start;
+	private final int end;
+	private String message;
+
+	Diagnostic(Kind kind, int variable, Token token, int tokenIndex) {
+		this(kind, variable, token, tokenIndex, null);
+	}
+
+	private Diagnostic(Kind kind, int variable, Token token, int tokenIndex, TokenBuffer source) {
+		this.kind = kind;
+		this.variable = variable;
+		this.token = token;
+		this.tokenIndex = tokenIndex;
+		this.source = source;
+		this.start = -1;
+		this.end = -1;
+	}
+
+	//A lexical error in source[start, end), after the tokens already in source
+	Diagnostic(Kind kind, TokenBuffer source, int start, int end) {
+		this.kind = kind;
+		this.variable = -1;
+		this.token = null;
+		this.tokenIndex = source.size();
+		this.source = source;
+		this.start = start;
+		this.end = end;
+	}
+
+	//The same diagnostic, placed in the buffer its tokens came from
+	Diagnostic in(TokenBuffer source) {
+		return new Diagnostic(kind, variable, token, tokenIndex, source);
+	}
+
+	public Kind getKind() {
+		return this.kind;
+	}
+
+	public boolean isLexical() {
+		return kind.compareTo(Kind.MALFORMED_CHARACTER) >= 0;
+	}
+
+	//The variable that had no rule for the token, for NO_RULE; null otherwise
+	public TreeNode.Label getVariable() {
+		return kind == Kind.NO_RULE ? ParseTable.label(variable) : null;
+	}
+
+	//The token the parser failed on; null at the end of input and for a lexical error
+	public Token getToken() {
+		return this.token;
+	}
+
+	//As for SyntaxException, each of these is -1 when not known. A lexical error is at the index its
+	//token would have had, and at the offset where the offending text starts.
+	public int getTokenIndex() {
+		return this.tokenIndex;
+	}
+
+	public int getOffset() {
+		if (source == null)
+			return -1;
+		if (start >= 0)
+			return start;
+		return tokenIndex < source.size() ? source.getStart(tokenIndex) : source.getSource().length();
+	}
+
+	public int getLine() {
+		return source == null ? -1 : source.lineAt(getOffset());
+	}
+
+	public int getColumn() {
+		return source == null ? -1 : source.columnAt(getOffset());
+	}
+
+	//Worded as the original parser's exceptions were
+	public String getMessage() {
+		if (message == null) {
+			switch (kind) {
+			case DISCREPANCY:
+				message = SyntacticAnalyser.DISCREPANCY;
+				break;
+			case NO_RULE:
+				message = SyntacticAnalyser.failedToMatch(variable, token);
+				break;
+			case END_OF_INPUT:
+				message = SyntacticAnalyser.STACK_NOT_EMPTY;
+				break;
+			case TRAILING_TOKENS:
+				message = SyntacticAnalyser.TRAILING_TOKENS;
+				break;
+			case MALFORMED_CHARACTER:
+				message = "Malformed character literal: " + source.getSource().substring(start, end);
+				break;
+			case MALFORMED_STRING:
+				message = "Malformed string literal: " + source.getSource().substring(start, end);
+				break;
+			case UNEXPECTED_END:
+				message = "Unexpected end of input after: " + source.getSource().substring(start, end);
+				break;
+			default:
+				message = "Unrecognised token: " + source.getSource().substring(start, end);
+				break;
+			}
+		}
+		return message;
+	}
+
+	public SyntaxException toException() {
+		if (isLexical())
+			throw new IllegalStateException("A lexical error is reported as a LexicalException");
+		if (source == null)
+			return new SyntaxException(getMessage(), tokenIndex);
+		return new SyntaxException(getMessage(), tokenIndex, getOffset(), getLine(), getColumn());
+	}
+
+	public LexicalException toLexicalException() {
+		if (!isLexical())
+			throw new IllegalStateException("A syntax error is reported as a SyntaxException");
+		return new LexicalException(this);
+	}
+
+	@Override
+	public String toString() {
+		return source == null ? getMessage() : getMessage() + " (line " + getLine() + ", column " + getColumn() + ")";
+	}
+
+}
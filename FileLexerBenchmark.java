@@ -0,0 +1,29 @@
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+//Compares lexing a file by reading it into a String first with lexing it through
+//MappedLexicalAnalyser, which scans the mapped bytes without decoding them.
+//Usage: java FileLexerBenchmark [statements] [millisPerMeasurement]
+public class FileLexerBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+		Path file = Files.createTempFile("simplejava", ".java");
+		try {
+			Files.write(file, BenchmarkSupport.generateProgram(statements, 41080).getBytes(StandardCharsets.US_ASCII));
+			int size = (int) Files.size(file);
+
+			double decoded = BenchmarkSupport.nanosPerRun(() -> LexicalAnalyser.analyse(Files.readString(file)), millis);
+			double mapped = BenchmarkSupport.nanosPerRun(() -> MappedLexicalAnalyser.analyse(file), millis);
+			System.out.printf("%d bytes%n", size);
+			System.out.printf("readString + analyse: %8.2f MB/s%n", BenchmarkSupport.megabytesPerSecond(size, decoded));
+			System.out.printf("mapped bytes:         %8.2f MB/s%n", BenchmarkSupport.megabytesPerSecond(size, mapped));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,287 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+//A parse tree held in parallel int arrays instead of TreeNode objects: node n has a label, the
+//index of its token (-1 for a variable or epsilon), its first child, next sibling and parent
+//(-1 where there is none). Nodes are numbered in the order the parser adds them, so the root is 0
+//and a node's descendants follow it. Tokens stay in the list or TokenBuffer they were parsed from.
+//The tree is filled directly by the parser through a ParseListener. It can be walked by node
+//number or with a Cursor, or seen through toParseTree() as TreeNodes made only as they are reached,
+//matching the TreeNodes SyntacticAnalyser.parse builds, terminals' parents included.
+//ParseTreeFootprintBenchmark compares the heap both take per node.
+public class FlatParseTree {
+
+	private static final TreeNode.Label[] LABELS = TreeNode.Label.values();
+	private static final int TERMINAL = TreeNode.Label.terminal.ordinal();
+	private static final int EPSILON = TreeNode.Label.epsilon.ordinal();
+
+	private final List<Token> tokens;
+	private int size;
+	private int[] labels;
+	private int[] tokenIndices;
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] parent;
+	//The node of each token, for the parents TreeNodes give terminals
+	private int[] terminals;
+	private TreeNode[] facade;
+
+	private FlatParseTree(List<Token> tokens) {
+		this.tokens = tokens;
+		int capacity = Math.max(16, tokens.size() * 4);
+		labels = new int[capacity];
+		tokenIndices = new int[capacity];
+		firstChild = new int[capacity];
+		nextSibling = new int[capacity];
+		parent = new int[capacity];
+		terminals = new int[tokens.size()];
+	}
+
+	//A SyntaxException from here also says where in the source the parser failed
+	public static FlatParseTree parse(TokenBuffer tokens) throws SyntaxException {
+		FlatParseTree tree = new FlatParseTree(tokens.asList());
+		SyntacticAnalyser.parse(tokens, tree.new Builder());
+		tree.trim();
+		return tree;
+	}
+
+	public static FlatParseTree parse(List<Token> tokens) throws SyntaxException {
+		FlatParseTree tree = new FlatParseTree(tokens);
+		SyntacticAnalyser.parse(tokens, tree.new Builder());
+		tree.trim();
+		return tree;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public TreeNode.Label getLabel(int node) {
+		return LABELS[labels[checkIndex(node)]];
+	}
+
+	public int getTokenIndex(int node) {
+		return tokenIndices[checkIndex(node)];
+	}
+
+	//null for a variable or epsilon
+	public Token getToken(int node) {
+		int index = tokenIndices[checkIndex(node)];
+		return index < 0 ? null : tokens.get(index);
+	}
+
+	public int getFirstChild(int node) {
+		return firstChild[checkIndex(node)];
+	}
+
+	public int getNextSibling(int node) {
+		return nextSibling[checkIndex(node)];
+	}
+
+	//The node that holds this one, which for a terminal need not be what its TreeNode's getParent() is
+	public int getParent(int node) {
+		return parent[checkIndex(node)];
+	}
+
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+	//The same tree as TreeNodes, each made the first time it is reached and the same object after.
+	//They cannot be changed.
+	public ParseTree toParseTree() {
+		if (facade == null)
+			facade = new TreeNode[size];
+		return new ParseTree(node(0));
+	}
+
+	private TreeNode node(int node) {
+		if (facade[node] == null)
+			facade[node] = new Node(node);
+		return facade[node];
+	}
+
+	private int checkIndex(int node) {
+		if (node < 0 || node >= size)
+			throw new IndexOutOfBoundsException("Node " + node + " out of bounds for size " + size);
+		return node;
+	}
+
+	private int add(int label, int tokenIndex, int parentNode) {
+		if (size == labels.length) {
+			int capacity = size * 2;
+			labels = Arrays.copyOf(labels, capacity);
+			tokenIndices = Arrays.copyOf(tokenIndices, capacity);
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+			parent = Arrays.copyOf(parent, capacity);
+		}
+		int node = size++;
+		labels[node] = label;
+		tokenIndices[node] = tokenIndex;
+		firstChild[node] = -1;
+		nextSibling[node] = -1;
+		parent[node] = parentNode;
+		if (parentNode >= 0) {
+			//No node has more than a few children, so the last one is found by walking them
+			int child = firstChild[parentNode];
+			if (child < 0) {
+				firstChild[parentNode] = node;
+			} else {
+				while (nextSibling[child] >= 0)
+					child = nextSibling[child];
+				nextSibling[child] = node;
+			}
+		}
+		return node;
+	}
+
+	private void trim() {
+		labels = Arrays.copyOf(labels, size);
+		tokenIndices = Arrays.copyOf(tokenIndices, size);
+		firstChild = Arrays.copyOf(firstChild, size);
+		nextSibling = Arrays.copyOf(nextSibling, size);
+		parent = Arrays.copyOf(parent, size);
+	}
+
+	private class Builder implements ParseListener {
+
+		private int current = -1;
+		private int tokenCount;
+
+		@Override
+		public void enter(TreeNode.Label variable) {
+			current = add(variable.ordinal(), -1, current);
+		}
+
+		@Override
+		public void exit(TreeNode.Label variable) {
+			current = parent[current];
+		}
+
+		@Override
+		public void terminal(Token token) {
+			terminals[tokenCount] = add(TERMINAL, tokenCount, current);
+			tokenCount++;
+		}
+
+		@Override
+		public void epsilon(TreeNode.Label variable) {
+			add(EPSILON, -1, add(variable.ordinal(), -1, current));
+		}
+
+	}
+
+	//Walks the tree without making any objects, starting at the root
+	public class Cursor {
+
+		private int node;
+
+		public int getNode() {
+			return this.node;
+		}
+
+		public TreeNode.Label getLabel() {
+			return FlatParseTree.this.getLabel(node);
+		}
+
+		public Token getToken() {
+			return FlatParseTree.this.getToken(node);
+		}
+
+		//Each of these moves and returns true, or stays and returns false if there is nowhere to go
+		public boolean toFirstChild() {
+			return moveTo(firstChild[node]);
+		}
+
+		public boolean toNextSibling() {
+			return moveTo(nextSibling[node]);
+		}
+
+		public boolean toParent() {
+			return moveTo(parent[node]);
+		}
+
+		private boolean moveTo(int next) {
+			if (next < 0)
+				return false;
+			node = next;
+			return true;
+		}
+
+	}
+
+	private class Node extends TreeNode {
+
+		private final int node;
+		private List<TreeNode> children;
+
+		Node(int node) {
+			super(LABELS[labels[node]], null);
+			this.node = node;
+		}
+
+		@Override
+		public Optional<Token> getToken() {
+			return Optional.ofNullable(FlatParseTree.this.getToken(node));
+		}
+
+		//As SyntacticAnalyser.parse has it, a terminal's parent is the node that holds the token before
+		@Override
+		public TreeNode getParent() {
+			int index = tokenIndices[node];
+			if (index < 0)
+				return parent[node] < 0 ? null : node(parent[node]);
+			return node(index == 0 ? 0 : parent[terminals[index - 1]]);
+		}
+
+		@Override
+		public List<TreeNode> getChildren() {
+			if (children == null) {
+				int count = 0;
+				for (int child = firstChild[node]; child >= 0; child = nextSibling[child])
+					count++;
+				int[] nodes = new int[count];
+				count = 0;
+				for (int child = firstChild[node]; child >= 0; child = nextSibling[child])
+					nodes[count++] = child;
+				children = new AbstractList<TreeNode>() {
+					@Override
+					public TreeNode get(int index) {
+						return node(nodes[index]);
+					}
+
+					@Override
+					public int size() {
+						return nodes.length;
+					}
+				};
+			}
+			return children;
+		}
+
+		@Override
+		int childCount() {
+			return getChildren().size();
+		}
+
+		@Override
+		TreeNode childAt(int index) {
+			return getChildren().get(index);
+		}
+
+		@Override
+		public void addChild(TreeNode child) {
+			throw new UnsupportedOperationException("A FlatParseTree cannot be changed");
+		}
+
+		@Override
+		void setParent(TreeNode parent) {
+			throw new UnsupportedOperationException("A FlatParseTree cannot be changed");
+		}
+
+	}
+
+}
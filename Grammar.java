@@ -0,0 +1,430 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//A context-free grammar over TreeNode.Label variables and Token.TokenType terminals, and the
+//generator that turns it into ParseTable's runtime arrays: FIRST and FOLLOW sets, LL(1) conflict
+//detection, then one int per (variable, token type) cell.
+//
+//The description format is one variable per line:
+//    variable -> symbol symbol ... | symbol ... | epsilon
+//Lower case names are variables, upper case names are token types, TYPE(int) is a TYPE token whose
+//value is int, and epsilon is the empty alternative. # starts a comment. A line
+//    %table variable TOKEN TOKEN ... : alternative
+//sets those cells by hand, to an alternative (which need not be one the variable has) or to error,
+//whatever the sets say; a conflict in a cell set this way counts as resolved.
+//Several alternatives starting with the same token type qualified by different values are not a
+//conflict: the parser picks between them by the token's value.
+//
+//Run it on a grammar file to see its sets, conflicts and table:
+//    java Grammar [file]
+class Grammar {
+
+	static final String EMPTY = "epsilon";
+
+	private static final TreeNode.Label[] LABELS = TreeNode.Label.values();
+	private static final Token.TokenType[] TYPES = Token.TokenType.values();
+
+	//One alternative of a variable; values[i] is the value symbols[i] must have, or null
+	static final class Production {
+		final int number;
+		final TreeNode.Label variable;
+		final Symbol[] symbols;
+		final String[] values;
+
+		Production(int number, TreeNode.Label variable, Symbol[] symbols, String[] values) {
+			this.number = number;
+			this.variable = variable;
+			this.symbols = symbols;
+			this.values = values;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(variable + " ->");
+			if (symbols.length == 0)
+				sb.append(' ').append(EMPTY);
+			for (int i = 0; i < symbols.length; i++) {
+				sb.append(' ').append(symbols[i]);
+				if (values[i] != null)
+					sb.append('(').append(values[i]).append(')');
+			}
+			return sb.toString();
+		}
+	}
+
+	//A hand-set cell: rule is a production number, or ParseTable.ERROR
+	private static final class SetCells {
+		final TreeNode.Label variable;
+		final Token.TokenType[] lookaheads;
+		final int rule;
+
+		SetCells(TreeNode.Label variable, Token.TokenType[] lookaheads, int rule) {
+			this.variable = variable;
+			this.lookaheads = lookaheads;
+			this.rule = rule;
+		}
+	}
+
+	private final TreeNode.Label start;
+	//Production 0 is the shared empty alternative
+	private final List<Production> productions = new ArrayList<Production>();
+	private final Map<TreeNode.Label, List<Production>> alternatives = new LinkedHashMap<TreeNode.Label, List<Production>>();
+	private final List<SetCells> overrides = new ArrayList<SetCells>();
+
+	private final boolean[] nullable = new boolean[LABELS.length];
+	private final List<Set<Token.TokenType>> first = new ArrayList<Set<Token.TokenType>>();
+	private final List<Set<Token.TokenType>> follow = new ArrayList<Set<Token.TokenType>>();
+
+	private Grammar(TreeNode.Label start) {
+		this.start = start;
+		productions.add(new Production(0, null, new Symbol[0], new String[0]));
+		for (int i = 0; i < LABELS.length; i++) {
+			first.add(EnumSet.noneOf(Token.TokenType.class));
+			follow.add(EnumSet.noneOf(Token.TokenType.class));
+		}
+	}
+
+	//The first variable defined is the start symbol
+	static Grammar parse(String text) {
+		Grammar grammar = null;
+		List<String> tableLines = new ArrayList<String>();
+		String[] lines = text.split("\n");
+		for (int n = 0; n < lines.length; n++) {
+			String line = lines[n].replaceAll("#.*", "").trim();
+			if (line.isEmpty())
+				continue;
+			if (line.startsWith("%table")) {
+				tableLines.add(line);
+				continue;
+			}
+			String[] sides = line.split("->", -1);
+			if (sides.length != 2)
+				throw new IllegalArgumentException("Line " + (n + 1) + ": expected variable -> alternatives: " + line);
+			TreeNode.Label variable = variable(sides[0].trim());
+			if (grammar == null)
+				grammar = new Grammar(variable);
+			if (grammar.alternatives.containsKey(variable))
+				throw new IllegalArgumentException("Line " + (n + 1) + ": " + variable + " is defined twice");
+			grammar.alternatives.put(variable, new ArrayList<Production>());
+			for (String alternative : sides[1].split("\\|", -1))
+				grammar.alternatives.get(variable).add(grammar.production(variable, alternative));
+		}
+		if (grammar == null)
+			throw new IllegalArgumentException("The grammar has no productions");
+		for (String line : tableLines)
+			grammar.override(line);
+		grammar.check();
+		grammar.computeSets();
+		return grammar;
+	}
+
+	TreeNode.Label getStart() {
+		return this.start;
+	}
+
+	//In the order they are defined
+	List<TreeNode.Label> getVariables() {
+		return new ArrayList<TreeNode.Label>(alternatives.keySet());
+	}
+
+	List<Production> getProductions() {
+		return this.productions;
+	}
+
+	boolean isNullable(TreeNode.Label variable) {
+		return nullable[variable.ordinal()];
+	}
+
+	Set<Token.TokenType> first(TreeNode.Label variable) {
+		return first.get(variable.ordinal());
+	}
+
+	Set<Token.TokenType> follow(TreeNode.Label variable) {
+		return follow.get(variable.ordinal());
+	}
+
+	//Cells claimed by more than one alternative and not set by hand, as "variable on TOKEN: a | b"
+	List<String> conflicts() {
+		List<String> conflicts = new ArrayList<String>();
+		List<List<Production>> cells = cells();
+		for (int v = 0; v < LABELS.length; v++) {
+			for (int t = 0; t < TYPES.length; t++) {
+				List<Production> claims = cells.get(v * TYPES.length + t);
+				if (claims.size() > 1 && !isOverridden(LABELS[v], TYPES[t]) && !byValue(claims, TYPES[t])) {
+					StringBuilder sb = new StringBuilder(LABELS[v] + " on " + TYPES[t] + ":");
+					for (int i = 0; i < claims.size(); i++)
+						sb.append(i == 0 ? " " : " | ").append(claims.get(i));
+					conflicts.add(sb.toString());
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	//The runtime table: rule numbers, ParseTable.EPSILON, ParseTable.ERROR or ParseTable.BY_VALUE
+	//for each variable and token type. Throws if the grammar is not LL(1).
+	int[][] table() {
+		List<String> conflicts = conflicts();
+		if (!conflicts.isEmpty())
+			throw new IllegalArgumentException("The grammar is not LL(1): " + String.join("; ", conflicts));
+		int[][] table = new int[LABELS.length][TYPES.length];
+		List<List<Production>> cells = cells();
+		for (int v = 0; v < LABELS.length; v++) {
+			for (int t = 0; t < TYPES.length; t++) {
+				List<Production> claims = cells.get(v * TYPES.length + t);
+				table[v][t] = claims.isEmpty() ? ParseTable.ERROR
+						: claims.size() > 1 ? ParseTable.BY_VALUE : claims.get(0).number;
+			}
+		}
+		for (SetCells override : overrides)
+			for (Token.TokenType lookahead : override.lookaheads)
+				table[override.variable.ordinal()][lookahead.ordinal()] = override.rule;
+		return table;
+	}
+
+	//Right-hand sides as ParseTable symbols in push order, indexed by rule number
+	short[][] rightHandSides() {
+		short[][] sides = new short[productions.size()][];
+		for (Production p : productions) {
+			sides[p.number] = new short[p.symbols.length];
+			for (int i = 0; i < p.symbols.length; i++)
+				sides[p.number][p.symbols.length - 1 - i] = ParseTable.symbol(p.symbols[i]);
+		}
+		return sides;
+	}
+
+	//For a variable whose alternatives are told apart by the value of their first token, those
+	//values and the rules they pick; null otherwise
+	String[] valueSpellings(TreeNode.Label variable) {
+		List<Production> claims = valueClaims(variable);
+		if (claims == null)
+			return null;
+		String[] spellings = new String[claims.size()];
+		for (int i = 0; i < spellings.length; i++)
+			spellings[i] = claims.get(i).values[0];
+		return spellings;
+	}
+
+	int[] valueRules(TreeNode.Label variable) {
+		List<Production> claims = valueClaims(variable);
+		if (claims == null)
+			return null;
+		int[] rules = new int[claims.size()];
+		for (int i = 0; i < rules.length; i++)
+			rules[i] = claims.get(i).number;
+		return rules;
+	}
+
+	private List<Production> valueClaims(TreeNode.Label variable) {
+		List<List<Production>> cells = cells();
+		List<Production> found = null;
+		for (int t = 0; t < TYPES.length; t++) {
+			List<Production> claims = cells.get(variable.ordinal() * TYPES.length + t);
+			if (claims.size() > 1 && !isOverridden(variable, TYPES[t]) && byValue(claims, TYPES[t])) {
+				if (found != null)
+					throw new IllegalArgumentException(variable + " is told apart by value on more than one token type");
+				found = claims;
+			}
+		}
+		return found;
+	}
+
+	//Which alternatives each (variable, token type) cell predicts, by FIRST and, for alternatives
+	//that can be empty, FOLLOW
+	private List<List<Production>> cells() {
+		List<List<Production>> cells = new ArrayList<List<Production>>();
+		for (int i = 0; i < LABELS.length * TYPES.length; i++)
+			cells.add(new ArrayList<Production>());
+		for (Map.Entry<TreeNode.Label, List<Production>> entry : alternatives.entrySet()) {
+			int row = entry.getKey().ordinal() * TYPES.length;
+			for (Production p : entry.getValue()) {
+				Set<Token.TokenType> lookaheads = EnumSet.noneOf(Token.TokenType.class);
+				if (firstOf(p.symbols, lookaheads))
+					lookaheads.addAll(follow(entry.getKey()));
+				for (Token.TokenType lookahead : lookaheads)
+					cells.get(row + lookahead.ordinal()).add(p);
+			}
+		}
+		return cells;
+	}
+
+	private boolean isOverridden(TreeNode.Label variable, Token.TokenType lookahead) {
+		for (SetCells override : overrides)
+			if (override.variable == variable && Arrays.asList(override.lookaheads).contains(lookahead))
+				return true;
+		return false;
+	}
+
+	//Whether every claim starts with the token type qualified by a value of its own
+	private static boolean byValue(List<Production> claims, Token.TokenType lookahead) {
+		List<String> seen = new ArrayList<String>();
+		for (Production p : claims) {
+			if (p.symbols.length == 0 || p.symbols[0] != lookahead || p.values[0] == null || seen.contains(p.values[0]))
+				return false;
+			seen.add(p.values[0]);
+		}
+		return true;
+	}
+
+	//Adds FIRST of the sequence to into, and says whether the whole sequence can be empty
+	private boolean firstOf(Symbol[] symbols, Set<Token.TokenType> into) {
+		for (Symbol symbol : symbols) {
+			if (!symbol.isVariable()) {
+				into.add((Token.TokenType) symbol);
+				return false;
+			}
+			into.addAll(first((TreeNode.Label) symbol));
+			if (!isNullable((TreeNode.Label) symbol))
+				return false;
+		}
+		return true;
+	}
+
+	//Nullable, FIRST and FOLLOW by iterating to a fixed point. Alternatives only reachable through
+	//%table lines take no part.
+	private void computeSets() {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Map.Entry<TreeNode.Label, List<Production>> entry : alternatives.entrySet()) {
+				int v = entry.getKey().ordinal();
+				for (Production p : entry.getValue()) {
+					int before = first.get(v).size();
+					boolean empty = firstOf(p.symbols, first.get(v));
+					if (empty && !nullable[v]) {
+						nullable[v] = true;
+						changed = true;
+					}
+					changed |= first.get(v).size() != before;
+				}
+			}
+		}
+		changed = true;
+		while (changed) {
+			changed = false;
+			for (Map.Entry<TreeNode.Label, List<Production>> entry : alternatives.entrySet()) {
+				for (Production p : entry.getValue()) {
+					for (int i = 0; i < p.symbols.length; i++) {
+						if (!p.symbols[i].isVariable())
+							continue;
+						Set<Token.TokenType> into = follow((TreeNode.Label) p.symbols[i]);
+						int before = into.size();
+						Symbol[] rest = Arrays.copyOfRange(p.symbols, i + 1, p.symbols.length);
+						if (firstOf(rest, into))
+							into.addAll(follow(entry.getKey()));
+						changed |= into.size() != before;
+					}
+				}
+			}
+		}
+	}
+
+	//Every variable used must be defined
+	private void check() {
+		for (Production p : productions)
+			for (Symbol symbol : p.symbols)
+				if (symbol.isVariable() && !alternatives.containsKey(symbol))
+					throw new IllegalArgumentException(symbol + " is used in " + p + " but never defined");
+	}
+
+	private Production production(TreeNode.Label variable, String alternative) {
+		String[] names = alternative.trim().split("\\s+");
+		if (names.length == 1 && names[0].equals(EMPTY))
+			return productions.get(0);
+		if (names.length == 1 && names[0].isEmpty())
+			throw new IllegalArgumentException("Empty alternative for " + variable + "; write " + EMPTY);
+		Symbol[] symbols = new Symbol[names.length];
+		String[] values = new String[names.length];
+		for (int i = 0; i < names.length; i++) {
+			String name = names[i];
+			int paren = name.indexOf('(');
+			if (paren >= 0) {
+				if (!name.endsWith(")"))
+					throw new IllegalArgumentException("Unclosed value in " + name);
+				values[i] = name.substring(paren + 1, name.length() - 1);
+				name = name.substring(0, paren);
+			}
+			symbols[i] = Character.isUpperCase(name.charAt(0)) ? terminal(name) : variable(name);
+			if (values[i] != null && symbols[i].isVariable())
+				throw new IllegalArgumentException("Only tokens can have a value: " + names[i]);
+		}
+		//An alternative written the same way twice is the same production
+		for (Production p : productions)
+			if (p.variable == variable && Arrays.equals(p.symbols, symbols) && Arrays.equals(p.values, values))
+				return p;
+		Production p = new Production(productions.size(), variable, symbols, values);
+		productions.add(p);
+		return p;
+	}
+
+	private void override(String line) {
+		String[] sides = line.substring("%table".length()).split(":", -1);
+		String[] names = sides[0].trim().split("\\s+");
+		if (sides.length != 2 || names.length < 2)
+			throw new IllegalArgumentException("Expected %table variable TOKEN ... : alternative: " + line);
+		TreeNode.Label variable = variable(names[0]);
+		Token.TokenType[] lookaheads = new Token.TokenType[names.length - 1];
+		for (int i = 1; i < names.length; i++)
+			lookaheads[i - 1] = terminal(names[i]);
+		String alternative = sides[1].trim();
+		int rule = alternative.equals("error") ? ParseTable.ERROR : production(variable, alternative).number;
+		overrides.add(new SetCells(variable, lookaheads, rule));
+	}
+
+	private static TreeNode.Label variable(String name) {
+		try {
+			TreeNode.Label label = TreeNode.Label.valueOf(name);
+			if (label != TreeNode.Label.terminal && label != TreeNode.Label.epsilon && label != TreeNode.Label.endvar)
+				return label;
+		} catch (IllegalArgumentException e) {
+			//Reported below
+		}
+		throw new IllegalArgumentException("Not a grammar variable: " + name);
+	}
+
+	private static Token.TokenType terminal(String name) {
+		try {
+			return Token.TokenType.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Not a token type: " + name);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		Grammar grammar = parse(args.length > 0 ? new String(Files.readAllBytes(Paths.get(args[0])), "UTF-8")
+				: ParseTable.GRAMMAR);
+		for (TreeNode.Label variable : grammar.alternatives.keySet())
+			System.out.printf("%-16s nullable=%-5b FIRST=%s FOLLOW=%s%n", variable, grammar.isNullable(variable),
+					grammar.first(variable), grammar.follow(variable));
+		List<String> conflicts = grammar.conflicts();
+		if (!conflicts.isEmpty()) {
+			System.out.println("Conflicts:");
+			for (String conflict : conflicts)
+				System.out.println("  " + conflict);
+			return;
+		}
+		System.out.println("Productions:");
+		for (Production p : grammar.productions)
+			System.out.printf("%4d  %s%n", p.number, p.number == 0 ? EMPTY : p);
+		System.out.println("Table:");
+		int[][] table = grammar.table();
+		for (TreeNode.Label variable : grammar.alternatives.keySet()) {
+			StringBuilder sb = new StringBuilder();
+			for (int t = 0; t < TYPES.length; t++) {
+				int rule = table[variable.ordinal()][t];
+				if (rule != ParseTable.ERROR)
+					sb.append(' ').append(TYPES[t]).append('=').append(rule == ParseTable.BY_VALUE ? "value" : rule);
+			}
+			System.out.printf("  %-16s%s%n", variable, sb);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//Thread-safe intern table for ID and TYPE tokens. Every distinct spelling gets one canonical Token,
+//numbered from 0 in the order first seen, so later passes can compare identifiers by id (or by
+//reference) instead of by string. Lookups go straight from a range of the source, so a String is
+//only made the first time a spelling is seen.
+//Lookups never lock: chains are immutable and published through an AtomicReferenceArray, and a
+//lookup that misses retries under the lock before inserting.
+public class IdentifierTable {
+
+	private static final class Entry {
+		final Token token;
+		final int hash;
+		final Entry next;
+
+		Entry(Token token, int hash, Entry next) {
+			this.token = token;
+			this.hash = hash;
+			this.next = next;
+		}
+	}
+
+	private volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<Entry>(64);
+	private Token[] byId = new Token[64];
+	private volatile int size;
+
+	public Token intern(Token.TokenType type, String spelling) {
+		return intern(type, spelling, 0, spelling.length());
+	}
+
+	public Token intern(Token.TokenType type, CharSequence source, int start, int end) {
+		if (type != Token.TokenType.ID && type != Token.TokenType.TYPE)
+			throw new IllegalArgumentException("Only ID and TYPE tokens are interned, not " + type);
+		int hash = hash(type, source, start, end);
+		Token token = find(table, hash, type, source, start, end);
+		if (token != null)
+			return token;
+
+		synchronized (this) {
+			AtomicReferenceArray<Entry> current = table;
+			token = find(current, hash, type, source, start, end);
+			if (token != null)
+				return token;
+
+			token = new Token(type, source.subSequence(start, end).toString(), size);
+			if (size == byId.length)
+				byId = Arrays.copyOf(byId, size * 2);
+			byId[size] = token;
+			if (size + 1 > current.length() * 3 / 4)
+				current = table = grow(current);
+			int slot = hash & (current.length() - 1);
+			current.set(slot, new Entry(token, hash, current.get(slot)));
+			size++;
+			return token;
+		}
+	}
+
+	public synchronized Token get(int id) {
+		if (id < 0 || id >= size)
+			throw new IndexOutOfBoundsException("No interned token with id " + id);
+		return byId[id];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private static Token find(AtomicReferenceArray<Entry> table, int hash, Token.TokenType type, CharSequence source,
+			int start, int end) {
+		for (Entry e = table.get(hash & (table.length() - 1)); e != null; e = e.next) {
+			if (e.hash == hash && e.token.getType() == type && matches(e.token.getValue().get(), source, start, end))
+				return e.token;
+		}
+		return null;
+	}
+
+	private static boolean matches(String spelling, CharSequence source, int start, int end) {
+		if (spelling.length() != end - start)
+			return false;
+		for (int i = 0; i < spelling.length(); i++)
+			if (spelling.charAt(i) != source.charAt(start + i))
+				return false;
+		return true;
+	}
+
+	//String.hashCode over the range, seeded with the type
+	private static int hash(Token.TokenType type, CharSequence source, int start, int end) {
+		int h = type.ordinal();
+		for (int i = start; i < end; i++)
+			h = 31 * h + source.charAt(i);
+		return h ^ (h >>> 16);
+	}
+
+	private static AtomicReferenceArray<Entry> grow(AtomicReferenceArray<Entry> old) {
+		AtomicReferenceArray<Entry> grown = new AtomicReferenceArray<Entry>(old.length() * 2);
+		for (int i = 0; i < old.length(); i++) {
+			for (Entry e = old.get(i); e != null; e = e.next) {
+				int slot = e.hash & (grown.length() - 1);
+				grown.set(slot, new Entry(e.token, e.hash, grown.get(slot)));
+			}
+		}
+		return grown;
+	}
+
+}
@@ -0,0 +1,127 @@
+//Re-lexes a source after an edit by scanning only the region the edit can affect. The scan restarts
+//at the last lexeme that ends before the edit, which cannot have looked at any edited character,
+//and stops as soon as it reaches, past the edited text, a point where the old scan also started a
+//lexeme: from there on the text is unchanged, so the old tokens are reused with shifted offsets.
+//The result is exactly what LexicalAnalyser.analyseToBuffer gives for the edited source, and the
+//identifier table carries over so interned ids stay stable across edits.
+public class IncrementalLexer {
+
+	public static class Result {
+
+		private final TokenBuffer tokens;
+		private final int firstChanged;
+		private final int oldEnd;
+		private final int newEnd;
+
+		Result(TokenBuffer tokens, int firstChanged, int oldEnd, int newEnd) {
+			this.tokens = tokens;
+			this.firstChanged = firstChanged;
+			this.oldEnd = oldEnd;
+			this.newEnd = newEnd;
+		}
+
+		public TokenBuffer getTokens() {
+			return this.tokens;
+		}
+
+		//Tokens before this index are the same in both versions, offsets included
+		public int getFirstChanged() {
+			return this.firstChanged;
+		}
+
+		//Old tokens from getFirstChanged() up to this index were replaced...
+		public int getOldEnd() {
+			return this.oldEnd;
+		}
+
+		//...by new tokens from getFirstChanged() up to this index. Tokens after it are the old ones
+		//with their offsets moved by the change in length.
+		public int getNewEnd() {
+			return this.newEnd;
+		}
+
+	}
+
+	//Applies the edit replacing removedLength characters at offset with inserted
+	public static Result relex(TokenBuffer previous, int offset, int removedLength, String inserted)
+			throws LexicalException {
+		String oldSource = previous.getSource();
+		if (offset < 0 || removedLength < 0 || offset + removedLength > oldSource.length())
+			throw new IndexOutOfBoundsException("Edit of " + removedLength + " at " + offset
+					+ " out of bounds for length " + oldSource.length());
+		String newSource = oldSource.substring(0, offset) + inserted + oldSource.substring(offset + removedLength);
+		int shift = inserted.length() - removedLength;
+		int editEnd = offset + inserted.length();
+
+		int first = restartIndex(previous, offset);
+		int position = first > 0 ? previous.getStart(first) : 0;
+		TokenBuffer scanned = new TokenBuffer(newSource, previous.getIdentifiers(), 16);
+		int resume = first;
+		while (true) {
+			if (position >= editEnd) {
+				int oldPosition = position - shift;
+				while (resume < previous.size() && previous.getStart(resume) < oldPosition)
+					resume++;
+				//With no old tokens left only separators remain, but a trailing | still has to fail
+				if (resume < previous.size() && previous.getStart(resume) == oldPosition
+						&& startsLexeme(previous, resume))
+					break;
+			}
+			if (position >= newSource.length()) {
+				resume = previous.size();
+				break;
+			}
+			//One lexeme, or one separator, at a time
+			position = LexicalAnalyser.analyse(newSource, position, position + 1, scanned);
+		}
+
+		TokenBuffer tokens = new TokenBuffer(newSource, previous.getIdentifiers(),
+				Math.max(16, first + scanned.size() + previous.size() - resume));
+		tokens.append(previous, 0, first, 0);
+		tokens.append(scanned, 0, scanned.size(), 0);
+		tokens.append(previous, resume, previous.size(), shift);
+
+		//The rescan usually starts with tokens that came out the same
+		int changed = first;
+		while (changed < first + scanned.size() && changed < resume && tokens.getEnd(changed) <= offset
+				&& tokens.typeOrdinal(changed) == previous.typeOrdinal(changed)
+				&& tokens.getStart(changed) == previous.getStart(changed)
+				&& tokens.getEnd(changed) == previous.getEnd(changed))
+			changed++;
+		return new Result(tokens, changed, resume, first + scanned.size());
+	}
+
+	//The lexeme to rescan from: the one holding the last token that ends before offset, or 0 to
+	//rescan from the beginning of the source if there is none
+	private static int restartIndex(TokenBuffer tokens, int offset) {
+		int low = 0;
+		int high = tokens.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (tokens.getEnd(mid) < offset)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		int last = low - 1;
+		while (last > 0 && !startsLexeme(tokens, last))
+			last--;
+		return Math.max(last, 0);
+	}
+
+	//Whether the scan was between lexemes where the token starts: not for the literal inside quotes
+	//or the closing quote
+	private static boolean startsLexeme(TokenBuffer tokens, int index) {
+		Token.TokenType type = tokens.getType(index);
+		if (type == Token.TokenType.CHARLIT || type == Token.TokenType.STRINGLIT)
+			return false;
+		if (type == Token.TokenType.SQUOTE || type == Token.TokenType.DQUOTE) {
+			if (index == 0)
+				return true;
+			Token.TokenType before = tokens.getType(index - 1);
+			return before != Token.TokenType.CHARLIT && before != Token.TokenType.STRINGLIT;
+		}
+		return true;
+	}
+
+}
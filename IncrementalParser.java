@@ -0,0 +1,189 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Brings a ParseTree up to date after an edit by reparsing only the statements the edit touches.
+//The tree is walked up to the edit to find, at the deepest nesting where they share a statement
+//list, the statements holding the last unchanged token before the edit (its statement ended on
+//looking at the first changed one) and the last changed token. Those statements are parsed again
+//from the new tokens, one stat at a time, and must end exactly where the old ones did, shifted by
+//the edit; otherwise the enclosing statements are tried, and in the end the whole program. The
+//new statements are spliced into the old los chain in place of the old ones, and every other
+//subtree stays as it was, by reference.
+//The tree passed in is updated in place and returned. It must be the one parse gave for the tokens
+//before the edit, and comes out as parse would give it for the tokens after.
+public class IncrementalParser {
+
+	//A stat node seen on the way to the edit, its tokens, and where the token before it went
+	private static final class Span {
+		final TreeNode stat;
+		final int start;
+		final TreeNode lastParent;
+		int end = -1;
+
+		Span(TreeNode stat, int start, TreeNode lastParent) {
+			this.stat = stat;
+			this.start = start;
+			this.lastParent = lastParent;
+		}
+	}
+
+	public static ParseTree reparse(ParseTree previous, IncrementalLexer.Result edit) throws SyntaxException {
+		TokenBuffer tokens = edit.getTokens();
+		if (reuse(previous, tokens.asList(), edit.getFirstChanged(), edit.getOldEnd(), edit.getNewEnd()))
+			return previous;
+		return SyntacticAnalyser.parse(tokens);
+	}
+
+	//Tokens from firstChanged up to oldEnd in the old list were replaced by those up to newEnd in
+	//tokens
+	public static ParseTree reparse(ParseTree previous, List<Token> tokens, int firstChanged, int oldEnd,
+			int newEnd) throws SyntaxException {
+		if (reuse(previous, tokens, firstChanged, oldEnd, newEnd))
+			return previous;
+		return SyntacticAnalyser.parse(tokens);
+	}
+
+	private static boolean reuse(ParseTree previous, List<Token> tokens, int firstChanged, int oldEnd,
+			int newEnd) {
+		if (firstChanged == 0 || previous.getRoot() == null)
+			return false;
+		int before = firstChanged - 1;
+		int last = Math.max(before, oldEnd - 1);
+		List<List<Span>> around = walk(previous.getRoot(), before, last);
+		List<Span> first = around.get(0);
+		List<Span> second = around.get(1);
+		if (first == null || second == null)
+			return false;
+
+		int common = 0;
+		while (common < first.size() && common < second.size() && first.get(common) == second.get(common))
+			common++;
+		if (common < first.size() && common < second.size()
+				&& splice(first.get(common), second.get(common), tokens, newEnd - oldEnd))
+			return true;
+		for (int level = common - 1; level >= 0; level--)
+			if (splice(first.get(level), second.get(level), tokens, newEnd - oldEnd))
+				return true;
+		return false;
+	}
+
+	//Walks the tree in order up to the last token, returning the stats open at the before token and
+	//at the last token, outermost first, with their ends filled in
+	private static List<List<Span>> walk(TreeNode root, int before, int last) {
+		List<List<Span>> around = new ArrayList<List<Span>>();
+		around.add(null);
+		around.add(null);
+		List<Span> open = new ArrayList<Span>();
+		TreeNode[] nodes = new TreeNode[64];
+		int[] next = new int[64];
+		int depth = 0;
+		nodes[depth++] = root;
+		int count = 0;
+		TreeNode holder = null;
+		while (depth > 0) {
+			TreeNode node = nodes[depth - 1];
+			int i = next[depth - 1];
+			if (i == node.childCount()) {
+				next[--depth] = 0;
+				if (node.getLabel() == TreeNode.Label.stat) {
+					open.remove(open.size() - 1).end = count;
+					if (count > last && open.isEmpty())
+						break;
+				}
+				continue;
+			}
+			next[depth - 1]++;
+			TreeNode child = node.childAt(i);
+			if (child.getLabel() == TreeNode.Label.terminal) {
+				if (count == before)
+					around.set(0, new ArrayList<Span>(open));
+				if (count == last)
+					around.set(1, new ArrayList<Span>(open));
+				holder = node;
+				count++;
+				continue;
+			}
+			if (child.getLabel() == TreeNode.Label.stat)
+				open.add(new Span(child, count, holder));
+			if (depth == nodes.length) {
+				nodes = Arrays.copyOf(nodes, depth * 2);
+				next = Arrays.copyOf(next, depth * 2);
+			}
+			nodes[depth++] = child;
+		}
+		return around;
+	}
+
+	//Reparses the statements from a to b, which must be in the same los chain, and splices them in
+	private static boolean splice(Span a, Span b, List<Token> tokens, int shift) {
+		TreeNode firstLos = a.stat.getParent();
+		TreeNode lastLos = b.stat.getParent();
+		TreeNode chain = firstLos.getParent();
+		for (TreeNode los = firstLos; los != lastLos; los = los.childAt(1))
+			if (los.childCount() != 2)
+				return false;
+		TreeNode rest = lastLos.childAt(1);
+		TreeNode after = firstTerminalAfter(b.stat);
+
+		int stop = b.end + shift;
+		if (stop > tokens.size())
+			return false;
+		ParseTreeBuilder builder = new ParseTreeBuilder(null, a.lastParent);
+		TreeNode head = rest;
+		TreeNode tail = null;
+		int position = a.start;
+		while (position < stop) {
+			TreeNode los = new TreeNode(TreeNode.Label.los, tail == null ? chain : tail);
+			if (tail == null)
+				head = los;
+			else
+				tail.addChild(los);
+			tail = los;
+			builder.setCurrent(los);
+			Diagnostic end = SyntacticAnalyser.run(tokens.subList(position, tokens.size()), TreeNode.Label.stat,
+					builder, null);
+			if (end == null || end.getKind() != Diagnostic.Kind.TRAILING_TOKENS)
+				return false;
+			position += end.getTokenIndex();
+		}
+		if (position != stop)
+			return false;
+
+		if (tail != null)
+			tail.addChild(rest);
+		rest.setParent(tail == null ? chain : tail);
+		List<TreeNode> siblings = chain.getChildren();
+		siblings.set(siblings.indexOf(firstLos), head);
+		if (after != null)
+			after.setParent(builder.getLastParent());
+		return true;
+	}
+
+	//The terminal that comes right after the node's own, or null if none does
+	private static TreeNode firstTerminalAfter(TreeNode node) {
+		for (TreeNode parent = node.getParent(); parent != null; node = parent, parent = parent.getParent()) {
+			int i = 0;
+			while (parent.childAt(i) != node)
+				i++;
+			for (i++; i < parent.childCount(); i++) {
+				TreeNode terminal = firstTerminal(parent.childAt(i));
+				if (terminal != null)
+					return terminal;
+			}
+		}
+		return null;
+	}
+
+	private static TreeNode firstTerminal(TreeNode node) {
+		if (node.getLabel() == TreeNode.Label.terminal)
+			return node;
+		for (int i = 0; i < node.childCount(); i++) {
+			TreeNode terminal = firstTerminal(node.childAt(i));
+			if (terminal != null)
+				return terminal;
+		}
+		return null;
+	}
+
+}
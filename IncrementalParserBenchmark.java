@@ -0,0 +1,49 @@
+//Compares bringing a parse tree up to date after a one-character edit in the middle of a program,
+//relexing with IncrementalLexer and then either reparsing with IncrementalParser or parsing the
+//whole program again, reporting milliseconds per edit for increasingly large programs.
+//Usage: java IncrementalParserBenchmark [maxStatements] [millisPerMeasurement]
+public class IncrementalParserBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int maxStatements = args.length > 0 ? Integer.parseInt(args[0]) : 64_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+		System.out.printf("%10s %10s %10s %14s %14s %8s%n", "statements", "lines", "tokens", "full ms",
+				"incremental ms", "speedup");
+		for (int statements = 1000; statements <= maxStatements; statements *= 4) {
+			String source = BenchmarkSupport.generateProgram(statements, statements);
+			int at = numberNear(source, source.length() / 2);
+			TokenBuffer[] tokens = { LexicalAnalyser.analyseToBuffer(source) };
+			ParseTree[] tree = { SyntacticAnalyser.parse(tokens[0]) };
+
+			//Each edit flips the digit, so the program alternates between two versions
+			double full = BenchmarkSupport.nanosPerRun(() -> {
+				IncrementalLexer.Result edit = IncrementalLexer.relex(tokens[0], at, 1, flip(tokens[0], at));
+				tree[0] = SyntacticAnalyser.parse(edit.getTokens());
+				tokens[0] = edit.getTokens();
+			}, millis);
+			double incremental = BenchmarkSupport.nanosPerRun(() -> {
+				IncrementalLexer.Result edit = IncrementalLexer.relex(tokens[0], at, 1, flip(tokens[0], at));
+				tree[0] = IncrementalParser.reparse(tree[0], edit);
+				tokens[0] = edit.getTokens();
+			}, millis);
+			int lines = tokens[0].lineAt(source.length());
+			System.out.printf("%10d %10d %10d %14.3f %14.3f %8.1f%n", statements, lines, tokens[0].size(),
+					full / 1e6, incremental / 1e6, full / incremental);
+		}
+	}
+
+	//The offset of the first single-digit number at or after the given one
+	private static int numberNear(String source, int from) {
+		for (int i = from; i + 1 < source.length(); i++)
+			if (Character.isDigit(source.charAt(i)) && !Character.isLetterOrDigit(source.charAt(i - 1))
+					&& !Character.isLetterOrDigit(source.charAt(i + 1)))
+				return i;
+		throw new IllegalStateException("No number after " + from);
+	}
+
+	private static String flip(TokenBuffer tokens, int at) {
+		return tokens.getSource().charAt(at) == '1' ? "2" : "1";
+	}
+
+}
@@ -0,0 +1,63 @@
+import java.util.Random;
+
+//Compares classifying lexemes with the original String switch and regexes, which needs each lexeme
+//cut out as a String first, against KeywordRecognizer working on the source buffer, where the
+//scanner already knows from its state whether a non-keyword can be a NUM or an ID.
+//Usage: java KeywordBenchmark [lexemes] [millisPerMeasurement]
+public class KeywordBenchmark {
+
+	private static final String[] KEYWORDS = { "public", "class", "static", "void", "main", "String[]", "args", "int",
+			"char", "boolean", "if", "else", "while", "for", "System.out.println", "true", "false", "{", "}", "(", ")",
+			";", "=", "==", "+", "*" };
+
+	public static void main(String[] args) throws Exception {
+		int lexemes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+		System.out.printf("%16s %16s %16s%n", "input", "switch+regex ns", "recognizer ns");
+		run("keyword-heavy", lexemes, 0.9, millis);
+		run("identifier-heavy", lexemes, 0.1, millis);
+	}
+
+	private static void run(String name, int lexemes, double keywordShare, long millis) throws Exception {
+		Random random = new Random(41080);
+		StringBuilder sb = new StringBuilder();
+		int[] starts = new int[lexemes];
+		int[] ends = new int[lexemes];
+		byte[] classes = new byte[lexemes];
+		for (int i = 0; i < lexemes; i++) {
+			String lexeme;
+			if (random.nextDouble() < keywordShare) {
+				lexeme = KEYWORDS[random.nextInt(KEYWORDS.length)];
+				classes[i] = LexicalAnalyser.WORD;
+			} else if (random.nextInt(4) == 0) {
+				lexeme = Integer.toString(random.nextInt(100000));
+				classes[i] = LexicalAnalyser.DIGIT;
+			} else {
+				lexeme = "counter" + random.nextInt(1000);
+				classes[i] = LexicalAnalyser.LETTER;
+			}
+			starts[i] = sb.length();
+			sb.append(lexeme);
+			ends[i] = sb.length();
+			sb.append(' ');
+		}
+		String source = sb.toString();
+
+		int[] sink = new int[1];
+		double legacy = BenchmarkSupport.nanosPerRun(() -> {
+			for (int i = 0; i < lexemes; i++) {
+				String t = source.substring(starts[i], ends[i]);
+				sink[0] += LegacyLexicalAnalyser.tokenTypeOf(t).get().ordinal();
+			}
+		}, millis);
+		double recognizer = BenchmarkSupport.nanosPerRun(() -> {
+			for (int i = 0; i < lexemes; i++)
+				sink[0] += LexicalAnalyser.lexemeType(source, starts[i], ends[i], classes[i]).ordinal();
+		}, millis);
+		System.out.printf("%16s %16.1f %16.1f%n", name, legacy / lexemes, recognizer / lexemes);
+		if (sink[0] == 42)
+			System.out.println();
+	}
+
+}
@@ -0,0 +1,122 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+//Recognises the fixed spellings of SimpleJava (keywords, operators and punctuation) straight from
+//the scanner's buffer, without making a String of the lexeme first. Spellings are grouped by their
+//first character, the root of a one-level trie, and each group is tiny: a lexeme is compared with
+//at most three candidates of the same length, and most identifiers are rejected on the first
+//character or the length alone.
+class KeywordRecognizer {
+
+	//The comparison operators other than == were never recognised by the original lexer
+	private static final EnumSet<Token.TokenType> UNRECOGNISED = EnumSet.of(Token.TokenType.NEQUAL,
+			Token.TokenType.LT, Token.TokenType.LE, Token.TokenType.GT, Token.TokenType.GE);
+
+	private static final String[] TYPE_SPELLINGS = { "int", "char", "boolean" };
+
+	//The fixed spelling of each type the lexer recognises, then the spellings of TYPE
+	private static final String[] SPELLINGS;
+	private static final Token.TokenType[] TYPES;
+
+	//Indexes into SPELLINGS for each first character
+	private static final int[][] BY_FIRST = new int[128][];
+
+	static {
+		List<String> spellings = new ArrayList<String>();
+		List<Token.TokenType> types = new ArrayList<Token.TokenType>();
+		for (Token.TokenType type : Token.TokenType.values()) {
+			if (type.getSpelling() != null && !UNRECOGNISED.contains(type)) {
+				spellings.add(type.getSpelling());
+				types.add(type);
+			}
+		}
+		for (String spelling : TYPE_SPELLINGS) {
+			spellings.add(spelling);
+			types.add(Token.TokenType.TYPE);
+		}
+		SPELLINGS = spellings.toArray(new String[0]);
+		TYPES = types.toArray(new Token.TokenType[0]);
+		for (int k = 0; k < SPELLINGS.length; k++) {
+			char first = SPELLINGS[k].charAt(0);
+			int[] group = BY_FIRST[first] == null ? new int[1]
+					: Arrays.copyOf(BY_FIRST[first], BY_FIRST[first].length + 1);
+			group[group.length - 1] = k;
+			BY_FIRST[first] = group;
+		}
+	}
+
+	public static Token.TokenType type(int keyword) {
+		return TYPES[keyword];
+	}
+
+	//The canonical spelling, which callers can use as the token's value instead of a copy
+	public static String spelling(int keyword) {
+		return SPELLINGS[keyword];
+	}
+
+	//The shared token for the keyword; TYPE spellings are interned in the given table
+	public static Token token(int keyword, IdentifierTable identifiers) {
+		if (TYPES[keyword] == Token.TokenType.TYPE)
+			return identifiers.intern(Token.TokenType.TYPE, SPELLINGS[keyword]);
+		return Token.of(TYPES[keyword]);
+	}
+
+	//Returns the index of the keyword spelled by source[start, end), or -1
+	public static int find(CharSequence source, int start, int end) {
+		return find(Chars.SEQUENCE, source, start, end);
+	}
+
+	public static int find(char[] source, int start, int end) {
+		return find(Chars.ARRAY, source, start, end);
+	}
+
+	//Bytes are taken as ASCII; anything else never matches
+	public static int find(ByteBuffer source, int start, int end) {
+		return find(Chars.BYTES, source, start, end);
+	}
+
+	//How to read a character from each kind of source. A constant rather than a lambda over the
+	//source, so that finding a keyword allocates nothing.
+	private enum Chars {
+		SEQUENCE {
+			@Override
+			int at(Object source, int index) {
+				return ((CharSequence) source).charAt(index);
+			}
+		},
+		ARRAY {
+			@Override
+			int at(Object source, int index) {
+				return ((char[]) source)[index];
+			}
+		},
+		BYTES {
+			@Override
+			int at(Object source, int index) {
+				return ((ByteBuffer) source).get(index);
+			}
+		};
+
+		abstract int at(Object source, int index);
+	}
+
+	private static int find(Chars chars, Object source, int start, int end) {
+		int first = chars.at(source, start);
+		if (first < 0 || first >= 128 || BY_FIRST[first] == null)
+			return -1;
+		outer: for (int k : BY_FIRST[first]) {
+			String spelling = SPELLINGS[k];
+			if (spelling.length() != end - start)
+				continue;
+			for (int j = 1; j < spelling.length(); j++)
+				if (spelling.charAt(j) != chars.at(source, start + j))
+					continue outer;
+			return k;
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,39 @@
+import java.io.StringReader;
+
+//Compares the single-pass scanner in LexicalAnalyser and the streaming TokenSource against the
+//original two-phase lexer kept in LegacyLexicalAnalyser, reporting throughput in MB/s of source for
+//increasingly large programs.
+//The legacy lexer is quadratic, so it is only run up to a size it finishes in reasonable time.
+//Usage: java LexerBenchmark [maxStatements] [millisPerMeasurement]
+public class LexerBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int maxStatements = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+		int legacyLimit = 4_000;
+
+		System.out.printf("%10s %12s %14s %14s %14s%n", "statements", "chars", "legacy MB/s", "scanner MB/s",
+				"stream MB/s");
+		for (int statements = 500; statements <= maxStatements; statements *= 2) {
+			String source = BenchmarkSupport.generateProgram(statements, statements);
+
+			String legacy = "-";
+			if (statements <= legacyLimit) {
+				if (!LexicalAnalyser.analyse(source).equals(LegacyLexicalAnalyser.analyse(source)))
+					throw new IllegalStateException("Scanner and legacy lexer disagree on generated program");
+				double nanos = BenchmarkSupport.nanosPerRun(() -> LegacyLexicalAnalyser.analyse(source), millis);
+				legacy = String.format("%.2f", BenchmarkSupport.megabytesPerSecond(source.length(), nanos));
+			}
+			double nanos = BenchmarkSupport.nanosPerRun(() -> LexicalAnalyser.analyse(source), millis);
+			double streamNanos = BenchmarkSupport.nanosPerRun(() -> {
+				TokenSource tokens = new TokenSource(new StringReader(source));
+				while (tokens.hasNext())
+					tokens.next();
+			}, millis);
+			System.out.printf("%10d %12d %14s %14.2f %14.2f%n", statements, source.length(), legacy,
+					BenchmarkSupport.megabytesPerSecond(source.length(), nanos),
+					BenchmarkSupport.megabytesPerSecond(source.length(), streamNanos));
+		}
+	}
+
+}
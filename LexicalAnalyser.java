@@ -1,158 +1,203 @@
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 public class LexicalAnalyser {
 
+	//Character classes for the scanner. Every character of the source is looked up once and the
+	//class decides the transition, so the input is walked a single time without rebuilding it.
+	static final byte DIGIT = 0; //0-9
+	static final byte LETTER = 1; //a-z and A-Z
+	static final byte WORD = 2; //other characters that glue into a lexeme: [ ] . and non-ASCII letters/digits
+	static final byte DELIM = 3; //{ } ( ) + - / % * which always stand alone
+	static final byte SPACE = 4; //whitespace, which only separates lexemes
+	static final byte PIPE = 5; //| is treated as whitespace, as the original split pattern did
+	static final byte AMP = 6; //& or &&
+	static final byte COMPARE = 7; //< = ! > optionally followed by =
+	static final byte SQUOTE = 8; //' followed by exactly two more characters
+	static final byte DQUOTE = 9; //" up to and including the next "
+	static final byte OTHER = 10; //anything else is a lexeme of its own, e.g. ;
+
+	private static final byte[] ASCII_CLASSES = new byte[128];
+
+	static {
+		for (int c = 0; c < 128; c++)
+			ASCII_CLASSES[c] = Character.isDigit(c) ? DIGIT : Character.isLetter(c) ? LETTER : OTHER;
+		for (char c : "[].".toCharArray())
+			ASCII_CLASSES[c] = WORD;
+		for (char c : "{}()+-/%*".toCharArray())
+			ASCII_CLASSES[c] = DELIM;
+		for (char c : " \t\n\u000B\f\r".toCharArray())
+			ASCII_CLASSES[c] = SPACE;
+		for (char c : "<=!>".toCharArray())
+			ASCII_CLASSES[c] = COMPARE;
+		ASCII_CLASSES['|'] = PIPE;
+		ASCII_CLASSES['&'] = AMP;
+		ASCII_CLASSES['\''] = SQUOTE;
+		ASCII_CLASSES['"'] = DQUOTE;
+	}
+
+	static byte classOf(char c) {
+		if (c < 128)
+			return ASCII_CLASSES[c];
+		if (Character.isAlphabetic(c) || Character.isDigit(c))
+			return WORD;
+		return OTHER;
+	}
+
 	public static List<Token> analyse(String sourceCode) throws LexicalException {
+		return new ArrayList<Token>(analyseToBuffer(sourceCode).asList());
+	}
+
+	//Scans the source into a columnar TokenBuffer, recording where each token's text is rather than
+	//copying it out
+	public static TokenBuffer analyseToBuffer(String sourceCode) throws LexicalException {
+		TokenBuffer output = new TokenBuffer(sourceCode);
+		analyse(sourceCode, 0, sourceCode.length(), output);
+		return output;
+	}
 
-		List<Token> output = new ArrayList<Token>();
-		String spaced = "";
-		String singleDelimiters = "{}()+-/%*";
-		for (int i = 0; i < sourceCode.length(); ++i) {
+	//Scans the buffer's source into it without throwing: returns null, or the first lexical error,
+	//with the tokens before it left in the buffer
+	public static Diagnostic tryAnalyse(TokenBuffer output) {
+		String sourceCode = output.getSource();
+		Diagnostic[] failure = new Diagnostic[1];
+		try {
+			scan(sourceCode, 0, sourceCode.length(), output, failure);
+		} catch (LexicalException e) {
+			//Not thrown when there is somewhere to put the failure
+			throw new AssertionError(e);
+		}
+		return failure[0];
+	}
+
+	//Scans the lexemes starting in [from, to), which must begin at a lexeme boundary. The last one
+	//may run past to, and lookahead always sees the whole source, so a range ending on whitespace
+	//gives exactly the tokens the full scan would for it. Returns where the scan stopped, which is
+	//always between lexemes.
+	static int analyse(String sourceCode, int from, int to, TokenBuffer output) throws LexicalException {
+		return scan(sourceCode, from, to, output, null);
+	}
+
+	//With nowhere to put a failure it is thrown; otherwise it goes in failure[0] and -1 is returned
+	private static int scan(String sourceCode, int from, int to, TokenBuffer output, Diagnostic[] failure)
+			throws LexicalException {
+
+		int length = sourceCode.length();
+		int i = from;
+
+		while (i < to) {
 			char c = sourceCode.charAt(i);
-			if (Character.isAlphabetic(c) || Character.isDigit(c) || c == '[' || c == ']' || c == '.') {
-				spaced += c;
-			} else if (singleDelimiters.contains("" + c)) {
-				spaced += " " + c + " ";
-			} else {
-				spaced += " " + c;
-				switch (c) {
-				case '|':
-				case '&':
-					if (sourceCode.charAt(i + 1) == c)
-						spaced += sourceCode.charAt(++i);
-					break;
-				case '<':
-				case '=':
-				case '!':
-				case '>':
-					if (sourceCode.charAt(i + 1) == '=')
-						spaced += sourceCode.charAt(++i);
-					break;
-				case '\'':
-					spaced += sourceCode.charAt(++i);
-					spaced += sourceCode.charAt(++i);
-					break;
-				case '"':
-					while (i + 1 < sourceCode.length() && sourceCode.charAt(i + 1) != '"') {
-						spaced += sourceCode.charAt(++i);
-					}
-					spaced += sourceCode.charAt(++i);
-					break;
+			int start = i;
+			byte cls = classOf(c);
+			Token.TokenType type;
+			switch (cls) {
+			case DIGIT:
+			case LETTER:
+			case WORD:
+				//State is DIGIT while the lexeme can still be a NUM, LETTER while it can still be an ID
+				//and WORD once it can only be a keyword such as String[] or nothing at all
+				byte state = cls;
+				while (++i < length && (cls = classOf(sourceCode.charAt(i))) <= WORD) {
+					if (cls != state && !(state == LETTER && cls == DIGIT))
+						state = WORD;
 				}
-				spaced += " ";
+				if ((type = lexemeType(sourceCode, start, i, state)) == null)
+					return fail(Diagnostic.Kind.UNRECOGNISED, output, start, i, failure);
+				output.add(type, start, i);
+				break;
+			case SPACE:
+				i++;
+				break;
+			case PIPE:
+				//Both | and || vanish, so all that matters is not running off the end
+				if ((i = endOfPair(sourceCode, i, c, output, failure)) < 0)
+					return -1;
+				break;
+			case AMP:
+			case COMPARE:
+				if ((i = endOfPair(sourceCode, i, cls == AMP ? c : '=', output, failure)) < 0)
+					return -1;
+				if ((type = lexemeType(sourceCode, start, i, cls)) == null)
+					return fail(Diagnostic.Kind.UNRECOGNISED, output, start, i, failure);
+				output.add(type, start, i);
+				break;
+			case SQUOTE:
+				//The two characters after ' are taken verbatim, and the second of them must close the literal
+				i = endOfQuoted(sourceCode, start, Math.min(i + 3, length), Diagnostic.Kind.MALFORMED_CHARACTER, output,
+						failure);
+				if (i < 0)
+					return -1;
+				if (i - start != 3 || sourceCode.charAt(start + 2) != '\'')
+					return fail(Diagnostic.Kind.MALFORMED_CHARACTER, output, start, i, failure);
+				output.add(Token.TokenType.SQUOTE, start, start + 1);
+				output.add(Token.TokenType.CHARLIT, start + 1, start + 2);
+				output.add(Token.TokenType.SQUOTE, start + 2, start + 3);
+				break;
+			case DQUOTE:
+				int close = sourceCode.indexOf('"', i + 1);
+				i = endOfQuoted(sourceCode, start, close < 0 ? length : close + 1, Diagnostic.Kind.MALFORMED_STRING,
+						output, failure);
+				if (i < 0)
+					return -1;
+				if (close < 0)
+					return fail(Diagnostic.Kind.MALFORMED_STRING, output, start, i, failure);
+				output.add(Token.TokenType.DQUOTE, start, start + 1);
+				output.add(Token.TokenType.STRINGLIT, start + 1, close);
+				output.add(Token.TokenType.DQUOTE, close, close + 1);
+				break;
+			default:
+				if ((type = lexemeType(sourceCode, start, ++i, cls)) == null)
+					return fail(Diagnostic.Kind.UNRECOGNISED, output, start, i, failure);
+				output.add(type, start, i);
+				break;
 			}
 		}
+		return i;
 
-		String[] tokens = spaced.split("[\\s|\n|\r]+");
-
-		for (String t : tokens) {
-			if (t.length() > 0) {
-				Optional<Token> token = tokenFromString(t);
-				if (token.isPresent())
-					output.add(token.get());
-				else if (t.charAt(0) == '"') {
-					if (t.length() > 1 && t.charAt(t.length() - 1) == '"') {
-						String stringlit = t.substring(1, t.length() - 1);
-						output.add(new Token(Token.TokenType.DQUOTE));
-						output.add(new Token(Token.TokenType.STRINGLIT, stringlit));
-						output.add(new Token(Token.TokenType.DQUOTE));
-					} else
-						throw new LexicalException("Malformed string literal: " + t);
-				} else if (t.charAt(0) == '\'')
-					if (t.length() == 3 && t.charAt(2) == '\'') {
-						String charlit = t.substring(1, t.length() - 1);
-						output.add(new Token(Token.TokenType.SQUOTE));
-						output.add(new Token(Token.TokenType.CHARLIT, charlit));
-						output.add(new Token(Token.TokenType.SQUOTE));
-					} else
-						throw new LexicalException("Malformed character literal: " + t);
-				else
-					throw new LexicalException("Unrecognised token: " + t);
-			}
-		}
-		return output;
+	}
 
+	//Reports source[start, end) as the error, and returns -1 for the scan to stop with
+	private static int fail(Diagnostic.Kind kind, TokenBuffer output, int start, int end, Diagnostic[] failure)
+			throws LexicalException {
+		Diagnostic diagnostic = new Diagnostic(kind, output, start, end);
+		if (failure == null)
+			throw new LexicalException(diagnostic);
+		failure[0] = diagnostic;
+		return -1;
 	}
 
-	private static Optional<Token> tokenFromString(String t) {
-		Optional<Token.TokenType> type = tokenTypeOf(t);
-		if (type.isPresent())
-			return Optional.of(new Token(type.get(), t));
-		return Optional.empty();
+	//Returns the index after c and, if the next character is second, after that one too, or -1 if
+	//the source ends at c
+	private static int endOfPair(String sourceCode, int i, char second, TokenBuffer output, Diagnostic[] failure)
+			throws LexicalException {
+		if (i + 1 >= sourceCode.length())
+			return fail(Diagnostic.Kind.UNEXPECTED_END, output, i, i + 1, failure);
+		return sourceCode.charAt(i + 1) == second ? i + 2 : i + 1;
 	}
 
-	private static Optional<Token.TokenType> tokenTypeOf(String t) {
-		switch (t) {
-		case "public":
-			return Optional.of(Token.TokenType.PUBLIC);
-		case "class":
-			return Optional.of(Token.TokenType.CLASS);
-		case "static":
-			return Optional.of(Token.TokenType.STATIC);
-		case "main":
-			return Optional.of(Token.TokenType.MAIN);
-		case "{":
-			return Optional.of(Token.TokenType.LBRACE);
-		case "void":
-			return Optional.of(Token.TokenType.VOID);
-		case "(":
-			return Optional.of(Token.TokenType.LPAREN);
-		case "String[]":
-			return Optional.of(Token.TokenType.STRINGARR);
-		case "args":
-			return Optional.of(Token.TokenType.ARGS);
-		case ")":
-			return Optional.of(Token.TokenType.RPAREN);
-		case "int":
-		case "char":
-		case "boolean":
-			return Optional.of(Token.TokenType.TYPE);
-		case "=":
-			return Optional.of(Token.TokenType.ASSIGN);
-		case ";":
-			return Optional.of(Token.TokenType.SEMICOLON);
-		case "if":
-			return Optional.of(Token.TokenType.IF);
-		case "for":
-			return Optional.of(Token.TokenType.FOR);
-		case "while":
-			return Optional.of(Token.TokenType.WHILE);
-		case "==":
-			return Optional.of(Token.TokenType.EQUAL);
-		case "+":
-			return Optional.of(Token.TokenType.PLUS);
-		case "-":
-			return Optional.of(Token.TokenType.MINUS);
-		case "*":
-			return Optional.of(Token.TokenType.TIMES);
-		case "/":
-			return Optional.of(Token.TokenType.DIVIDE);
-		case "%":
-			return Optional.of(Token.TokenType.MOD);
-		case "}":
-			return Optional.of(Token.TokenType.RBRACE);
-		case "else":
-			return Optional.of(Token.TokenType.ELSE);
-		case "System.out.println":
-			return Optional.of(Token.TokenType.PRINT);
-		case "||":
-			return Optional.of(Token.TokenType.OR);
-		case "&&":
-			return Optional.of(Token.TokenType.AND);
-		case "true":
-			return Optional.of(Token.TokenType.TRUE);
-		case "false":
-			return Optional.of(Token.TokenType.FALSE);
+	//Quoted literals are taken verbatim, but whitespace or | inside one still splits it, and the
+	//piece up to the split is then reported as malformed just as the original lexer did
+	private static int endOfQuoted(String sourceCode, int start, int end, Diagnostic.Kind malformed,
+			TokenBuffer output, Diagnostic[] failure) throws LexicalException {
+		for (int i = start + 1; i < end; i++) {
+			byte cls = classOf(sourceCode.charAt(i));
+			if (cls == SPACE || cls == PIPE)
+				return fail(malformed, output, start, i, failure);
 		}
+		return end;
+	}
 
-		if (t.matches("\\d+"))
-			return Optional.of(Token.TokenType.NUM);
-		if (Character.isAlphabetic(t.charAt(0)) && t.matches("[\\d|\\w]+")) {
-			return Optional.of(Token.TokenType.ID);
-		}
-		return Optional.empty();
+	//The lexeme's class tells what it can be if it is not a keyword: DIGIT for NUM, LETTER for ID.
+	//null if it is none of them.
+	static Token.TokenType lexemeType(CharSequence source, int start, int end, byte cls) {
+		int keyword = KeywordRecognizer.find(source, start, end);
+		if (keyword >= 0)
+			return KeywordRecognizer.type(keyword);
+		if (cls == DIGIT)
+			return Token.TokenType.NUM;
+		if (cls == LETTER)
+			return Token.TokenType.ID;
+		return null;
 	}
 
 }
@@ -0,0 +1,312 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+// Checks the scanner in LexicalAnalyser, the streaming TokenSource, the byte-level
+// MappedLexicalAnalyser and the fork-join ParallelLexicalAnalyser against the original two-phase
+// lexer, which is the specification for what token list each input produces.
+public class LexicalAnalysisTests {
+
+	private static final String[] EDGE_CASES = { "", " ", "public class Test { public static void main(String[] args){ }}",
+			"int i = 3 + 2 * 5;", "a||b", "a | b", "a&&b", "a & b", "x==y", "x = y", "x != y", "x <= y", "x<y",
+			"'c'", "' '", "'ab'", "'|'", "\"hello\"", "\"\"", "\"two words\"", "\"a|b\"", "System.out.println(\"hi\");",
+			"String[] args", "a.b", "abc123", "123abc", "int _453;", "\u00e9t\u00e9", "\u0661\u0662", "x\u00a0y",
+			"\t\n\r\u000B\f;", "i=i+1;", "'a'b", "\"x\"y", "((a))" };
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	@Test
+	public void testEdgeCasesMatchLegacy() {
+		for (String source : EDGE_CASES)
+			assertSameAsLegacy(source);
+	}
+
+	@Test
+	public void testGeneratedProgramMatchesLegacy() throws LexicalException {
+		String source = BenchmarkSupport.generateProgram(300, 41080);
+		assertEquals(LegacyLexicalAnalyser.analyse(source), LexicalAnalyser.analyse(source));
+	}
+
+	@Test
+	public void testRandomInputsMatchLegacy() {
+		String alphabet = "ab1_ []. {}()+-/%* \t\n|&<=!>'\";#\u00e9";
+		Random random = new Random(41080);
+		for (int n = 0; n < 5000; n++) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = random.nextInt(24); i > 0; i--)
+				sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			assertSameAsLegacy(sb.toString());
+		}
+	}
+
+	@Test
+	public void testLongWordsAndIndentationMatchLegacy() {
+		String[] words = { "a", "x1", "42", "counterOfThingsSeenSoFar1234", "123456789012345678x",
+				"String[]", "array[index].field", "System.out.println", "abcdefghijklmnopq.r", "\u00e9t\u00e9" };
+		String[] gaps = { " ", "\t\t\t\t\t\t\t\t\t", "\n                                ", "\r\n\t \t \t \t ", ";", "|", "(" };
+		Random random = new Random(16);
+		for (int n = 0; n < 500; n++) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = random.nextInt(12); i > 0; i--)
+				sb.append(gaps[random.nextInt(gaps.length)]).append(words[random.nextInt(words.length)]);
+			assertSameAsLegacy(sb.toString());
+		}
+	}
+
+	@Test
+	public void testTokenSourceOverChannelMatchesAnalyse() throws LexicalException, IOException {
+		String source = BenchmarkSupport.generateProgram(300, 41080);
+		TokenSource tokens = new TokenSource(
+				Channels.newChannel(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8))));
+		assertEquals(tokens.peek(), tokens.next());
+		assertEquals(LexicalAnalyser.analyse(source).subList(1, LexicalAnalyser.analyse(source).size()),
+				tokens.remaining());
+		assertFalse(tokens.hasNext());
+		assertNull(tokens.peek());
+	}
+
+	@Test
+	public void testMappedFileMatchesAnalyse() throws LexicalException, IOException {
+		String ascii = BenchmarkSupport.generateProgram(300, 41080);
+		String unicode = ascii.replace("message1", "m\u00e9ssage1");
+		for (String source : new String[] { ascii, unicode }) {
+			Path file = Files.createTempFile("simplejava", ".java");
+			try {
+				Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+				assertEquals(LexicalAnalyser.analyse(source), MappedLexicalAnalyser.analyse(file));
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test
+	public void testTokenBufferMatchesAnalyse() throws LexicalException, SyntaxException {
+		String source = "public class Test { public static void main(String[] args){ char c = 'x'; "
+				+ "System.out.println(\"hi\"); int i = 3 + 2 * 5; }}";
+		TokenBuffer buffer = LexicalAnalyser.analyseToBuffer(source);
+		List<Token> tokens = LexicalAnalyser.analyse(source);
+		assertEquals(tokens, buffer.asList());
+		for (int i = 0; i < buffer.size(); i++) {
+			assertEquals(tokens.get(i).getType(), buffer.getType(i));
+			assertEquals(tokens.get(i).getValue(), buffer.getValue(i));
+		}
+		assertTrue(buffer.valueEquals(1, "class"));
+		assertFalse(buffer.valueEquals(1, "clas"));
+		assertEquals(SyntacticAnalyser.parse(tokens).toString(), SyntacticAnalyser.parse(buffer).toString());
+	}
+
+	@Test
+	public void testFixedTokensAreSharedAndIdentifiersInterned() throws LexicalException {
+		List<Token> tokens = LexicalAnalyser.analyse("int a = b; int b = a; a = a;");
+		assertSame(Token.of(Token.TokenType.SEMICOLON), tokens.get(4));
+		assertSame(tokens.get(0), tokens.get(5));
+		assertSame(tokens.get(1), tokens.get(8));
+		assertSame(tokens.get(1), tokens.get(10));
+		assertEquals(tokens.get(1).getId(), tokens.get(12).getId());
+		assertNotEquals(tokens.get(1).getId(), tokens.get(3).getId());
+		assertEquals(-1, new Token(Token.TokenType.ID, "a").getId());
+
+		Set<Token> distinct = new HashSet<Token>(tokens);
+		assertTrue(distinct.contains(new Token(Token.TokenType.ID, "a")));
+		assertEquals(5, distinct.size());
+	}
+
+	@Test
+	public void testIdentifierTableIsThreadSafe() throws InterruptedException {
+		IdentifierTable table = new IdentifierTable();
+		Token[][] seen = new Token[4][1000];
+		Thread[] threads = new Thread[seen.length];
+		for (int t = 0; t < threads.length; t++) {
+			Token[] mine = seen[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < mine.length; i++)
+					mine[i] = table.intern(Token.TokenType.ID, "id" + i);
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(1000, table.size());
+		for (int i = 0; i < 1000; i++) {
+			for (Token[] mine : seen)
+				assertSame(seen[0][i], mine[i]);
+			assertSame(seen[0][i], table.get(seen[0][i].getId()));
+		}
+	}
+
+	@Test
+	public void testParallelLexingMatchesSequential() throws LexicalException {
+		String source = BenchmarkSupport.generateProgram(2000, 7);
+		TokenBuffer expected = LexicalAnalyser.analyseToBuffer(source);
+		TokenBuffer actual = ParallelLexicalAnalyser.analyseToBuffer(source, POOL, 1000);
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.getType(i), actual.getType(i));
+			assertEquals(expected.getStart(i), actual.getStart(i));
+			assertEquals(expected.getEnd(i), actual.getEnd(i));
+		}
+		assertEquals(expected.asList(), actual.asList());
+		//Like LexicalAnalyser.analyse, analyse gives a list the caller may change
+		List<Token> tokens = ParallelLexicalAnalyser.analyse("int x = 1;");
+		tokens.add(Token.of(Token.TokenType.SEMICOLON));
+		assertEquals(LexicalAnalyser.analyse("int x = 1;;"), tokens);
+		//The earliest error wins even when a later piece fails too, and cuts inside literals are harmless
+		LexicalException e = assertThrows(LexicalException.class, () -> ParallelLexicalAnalyser
+				.analyseToBuffer("x = \"a b c d e f\" ; y = z <= w ; " + source, POOL, 4));
+		assertEquals("Malformed string literal: \"a", e.getMessage());
+	}
+
+	@Test
+	public void testRandomEditsRelexLikeFullScan() throws LexicalException {
+		String alphabet = "ab1 []{}(+=;|&'\"\n";
+		String[] pieces = { "", " ", "a", "1", "|", "&", "=", "'", "\"", "x y", "while", "'c'", "\"s\"", "a||b" };
+		Random random = new Random(80);
+		String program = BenchmarkSupport.generateProgram(40, 80);
+		for (int n = 0; n < 3000; n++) {
+			String source = program;
+			if (n % 2 == 1) {
+				StringBuilder sb = new StringBuilder();
+				for (int i = random.nextInt(30); i > 0; i--)
+					sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				source = sb.toString();
+			}
+			TokenBuffer before;
+			try {
+				before = LexicalAnalyser.analyseToBuffer(source);
+			} catch (LexicalException e) {
+				continue;
+			}
+			int offset = random.nextInt(source.length() + 1);
+			int removed = random.nextInt(Math.min(4, source.length() - offset) + 1);
+			String inserted = pieces[random.nextInt(pieces.length)];
+			String edited = source.substring(0, offset) + inserted + source.substring(offset + removed);
+			String edit = "<" + source + "> edited at " + offset;
+			try {
+				TokenBuffer expected = LexicalAnalyser.analyseToBuffer(edited);
+				IncrementalLexer.Result result = IncrementalLexer.relex(before, offset, removed, inserted);
+				TokenBuffer actual = result.getTokens();
+				assertEquals(expected.size(), actual.size(), edit);
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.getType(i), actual.getType(i), edit);
+					assertEquals(expected.getStart(i), actual.getStart(i), edit);
+					assertEquals(expected.getEnd(i), actual.getEnd(i), edit);
+				}
+				int first = result.getFirstChanged();
+				int shift = inserted.length() - removed;
+				assertEquals(before.size() - result.getOldEnd(), actual.size() - result.getNewEnd(), edit);
+				for (int i = 0; i < first; i++)
+					assertEquals(before.getEnd(i), actual.getEnd(i), edit);
+				for (int i = result.getOldEnd(), j = result.getNewEnd(); i < before.size(); i++, j++)
+					assertEquals(before.getStart(i) + shift, actual.getStart(j), edit);
+			} catch (LexicalException e) {
+				LexicalException actual = assertThrows(LexicalException.class,
+						() -> IncrementalLexer.relex(before, offset, removed, inserted));
+				assertEquals(e.getMessage(), actual.getMessage(), edit);
+			}
+		}
+		//A one-character edit inside a statement only touches the token it is in
+		String source = "int alpha = 1; int beta = 2; int gamma = 3;";
+		IncrementalLexer.Result result = IncrementalLexer.relex(LexicalAnalyser.analyseToBuffer(source),
+				source.indexOf("beta") + 1, 1, "o");
+		assertEquals(6, result.getFirstChanged());
+		assertEquals(7, result.getOldEnd());
+		assertEquals(7, result.getNewEnd());
+		assertEquals("bota", result.getTokens().get(6).getValue().get());
+		//Separators before the first token are rescanned too: here | loses its partner
+		TokenBuffer pipe = LexicalAnalyser.analyseToBuffer(" |a");
+		assertThrows(LexicalException.class, () -> IncrementalLexer.relex(pipe, 2, 1, ""));
+	}
+
+	@Test
+	public void testTruncatedInputIsLexicalException() {
+		assertThrows(LexicalException.class, () -> LexicalAnalyser.analyse("int a = b &"));
+		assertThrows(LexicalException.class, () -> LexicalAnalyser.analyse("char c = 'a"));
+		assertThrows(LexicalException.class, () -> LexicalAnalyser.analyse("System.out.println(\"unterminated"));
+	}
+
+	@Test
+	public void testTryAnalyseReportsDiagnostic() {
+		TokenBuffer tokens = new TokenBuffer("int a = 1;\nchar c = 'ab';");
+		Diagnostic failure = LexicalAnalyser.tryAnalyse(tokens);
+		assertEquals(Diagnostic.Kind.MALFORMED_CHARACTER, failure.getKind());
+		assertTrue(failure.isLexical());
+		assertEquals("Malformed character literal: 'ab", failure.getMessage());
+		assertEquals(8, failure.getTokenIndex());
+		assertEquals(8, tokens.size());
+		assertEquals(20, failure.getOffset());
+		assertEquals(2, failure.getLine());
+		assertEquals(10, failure.getColumn());
+		//Thrown, the same error has its message and no stack trace
+		LexicalException e = failure.toLexicalException();
+		assertEquals(failure.getMessage(), e.getMessage());
+		assertEquals(0, e.getStackTrace().length);
+		assertThrows(IllegalStateException.class, failure::toException);
+		assertNull(LexicalAnalyser.tryAnalyse(new TokenBuffer("int a = 1;")));
+	}
+
+	//The legacy lexer could also crash with a StringIndexOutOfBoundsException on truncated input,
+	//where the scanner reports a LexicalException instead
+	private static void assertSameAsLegacy(String source) {
+		assertSameAsLegacy(source, LexicalAnalyser::analyse);
+		assertSameAsLegacy(source, s -> {
+			TokenBuffer tokens = new TokenBuffer(s);
+			Diagnostic failure = LexicalAnalyser.tryAnalyse(tokens);
+			if (failure != null)
+				throw failure.toLexicalException();
+			return tokens.asList();
+		});
+		//Tiny windows make every lexeme straddle a refill
+		for (int bufferSize : new int[] { 1, 2, 3, 16 })
+			assertSameAsLegacy(source, s -> new TokenSource(new StringReader(s), bufferSize).remaining());
+		//The byte scanner gives up on anything that is not ASCII, and reads eight bytes at a time in
+		//either byte order unless told not to
+		if (source.chars().allMatch(c -> c < 128)) {
+			assertSameAsLegacy(source, s -> MappedLexicalAnalyser
+					.analyseAscii(ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII)), false));
+			assertSameAsLegacy(source, s -> MappedLexicalAnalyser
+					.analyseAscii(ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII))));
+			assertSameAsLegacy(source, s -> MappedLexicalAnalyser.analyseAscii(
+					ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII)).order(ByteOrder.LITTLE_ENDIAN)));
+		}
+		//A threshold of one cuts at every whitespace
+		assertSameAsLegacy(source, s -> ParallelLexicalAnalyser.analyseToBuffer(s, POOL, 1).asList());
+	}
+
+	private interface Lexer {
+		List<Token> analyse(String source) throws Exception;
+	}
+
+	private static void assertSameAsLegacy(String source, Lexer lexer) {
+		List<Token> expected;
+		try {
+			expected = LegacyLexicalAnalyser.analyse(source);
+		} catch (LexicalException e) {
+			LexicalException actual = assertThrows(LexicalException.class, () -> lexer.analyse(source));
+			assertEquals(e.getMessage(), actual.getMessage(), "message for <" + source + ">");
+			return;
+		} catch (StringIndexOutOfBoundsException e) {
+			assertThrows(LexicalException.class, () -> lexer.analyse(source));
+			return;
+		}
+		try {
+			assertEquals(expected, lexer.analyse(source), "tokens for <" + source + ">");
+		} catch (Exception e) {
+			fail("Unexpected " + e + " for <" + source + ">");
+		}
+	}
+
+}
@@ -1,7 +1,22 @@
-
+//Thrown without a stack trace, as the message already says what is wrong and rejecting input
+//should cost little more than accepting it. The scanner in LexicalAnalyser throws its Diagnostic,
+//whose message is only worded when asked for.
 public class LexicalException extends Exception {
 
+	private final Diagnostic diagnostic;
+
 	public LexicalException(String message) {
-		super(message);
+		super(message, null, false, false);
+		this.diagnostic = null;
+	}
+
+	LexicalException(Diagnostic diagnostic) {
+		super(null, null, false, false);
+		this.diagnostic = diagnostic;
+	}
+
+	@Override
+	public String getMessage() {
+		return diagnostic == null ? super.getMessage() : diagnostic.getMessage();
 	}
 }
@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+//Lexes a file by memory-mapping it and scanning the bytes directly, on the basis that SimpleJava
+//source is ASCII. Nothing is decoded to a String except the values of NUM, CHARLIT and STRINGLIT
+//tokens and the first occurrence of each identifier, which is then interned; keywords and operators
+//are recognised byte-wise by KeywordRecognizer and come out as shared tokens. A file containing any
+//non-ASCII byte, or too big to map in one piece, is lexed as UTF-8 through TokenSource instead.
+//Produces exactly the same tokens as LexicalAnalyser.analyse on the decoded file.
+//Whitespace runs and word bodies are stepped over eight bytes at a time by AsciiBlocks; the
+//byte-at-a-time DFA is kept as the fallback and reference.
+public class MappedLexicalAnalyser {
+
+	//Spellings of every single ASCII character, for CHARLIT values
+	private static final String[] SINGLES = new String[128];
+
+	static {
+		for (char c = 0; c < 128; c++)
+			SINGLES[c] = String.valueOf(c).intern();
+	}
+
+	public static List<Token> analyse(Path file) throws LexicalException, IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size <= Integer.MAX_VALUE) {
+				List<Token> tokens = analyseAscii(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+				if (tokens != null)
+					return tokens;
+			}
+			channel.position(0);
+			return new TokenSource(channel).remaining();
+		}
+	}
+
+	//Scans the bytes from index 0 to the limit, or returns null as soon as a non-ASCII byte shows
+	//up so the caller can fall back to decoding. Mirrors LexicalAnalyser.analyse transition for
+	//transition.
+	static List<Token> analyseAscii(ByteBuffer source) throws LexicalException {
+		return analyseAscii(source, true);
+	}
+
+	static List<Token> analyseAscii(ByteBuffer source, boolean blocks) throws LexicalException {
+
+		List<Token> output = new ArrayList<Token>();
+		IdentifierTable identifiers = new IdentifierTable();
+		AsciiSequence text = new AsciiSequence(source);
+		int length = source.limit();
+		int i = 0;
+
+		while (i < length) {
+			byte b = source.get(i);
+			if (b < 0)
+				return null;
+			char c = (char) b;
+			int start = i;
+			byte cls = LexicalAnalyser.classOf(c);
+			switch (cls) {
+			case LexicalAnalyser.DIGIT:
+			case LexicalAnalyser.LETTER:
+			case LexicalAnalyser.WORD:
+				byte state = cls;
+				if (blocks) {
+					long scanned = AsciiBlocks.scanWord(source, i + 1, length);
+					int flags = (int) (scanned >>> 32);
+					i = (int) scanned;
+					if ((flags & AsciiBlocks.SAW_PUNCT) != 0
+							|| state == LexicalAnalyser.DIGIT && (flags & AsciiBlocks.SAW_LETTER) != 0)
+						state = LexicalAnalyser.WORD;
+				} else {
+					while (++i < length && (b = source.get(i)) >= 0
+							&& (cls = LexicalAnalyser.classOf((char) b)) <= LexicalAnalyser.WORD) {
+						if (cls != state && !(state == LexicalAnalyser.LETTER && cls == LexicalAnalyser.DIGIT))
+							state = LexicalAnalyser.WORD;
+					}
+				}
+				if (i < length && source.get(i) < 0)
+					return null;
+				output.add(lexemeToken(text, start, i, state, identifiers));
+				break;
+			case LexicalAnalyser.SPACE:
+				i = blocks ? AsciiBlocks.skipSpaces(source, i + 1, length) : i + 1;
+				break;
+			case LexicalAnalyser.PIPE:
+				i = endOfPair(source, i, b);
+				break;
+			case LexicalAnalyser.AMP:
+			case LexicalAnalyser.COMPARE:
+				i = endOfPair(source, i, cls == LexicalAnalyser.AMP ? b : (byte) '=');
+				output.add(lexemeToken(text, start, i, cls, identifiers));
+				break;
+			case LexicalAnalyser.SQUOTE:
+				int end = Math.min(i + 3, length);
+				if (!isAscii(source, start, end))
+					return null;
+				i = endOfQuoted(source, start, end, "Malformed character literal: ");
+				if (i - start != 3 || source.get(start + 2) != '\'')
+					throw new LexicalException("Malformed character literal: " + decode(source, start, i));
+				output.add(Token.of(Token.TokenType.SQUOTE));
+				output.add(new Token(Token.TokenType.CHARLIT, SINGLES[source.get(start + 1)]));
+				output.add(Token.of(Token.TokenType.SQUOTE));
+				break;
+			case LexicalAnalyser.DQUOTE:
+				int close = i + 1;
+				while (close < length && (b = source.get(close)) != '"') {
+					if (b < 0)
+						return null;
+					close++;
+				}
+				i = endOfQuoted(source, start, close < length ? close + 1 : length, "Malformed string literal: ");
+				if (close == length)
+					throw new LexicalException("Malformed string literal: " + decode(source, start, i));
+				output.add(Token.of(Token.TokenType.DQUOTE));
+				output.add(new Token(Token.TokenType.STRINGLIT, decode(source, start + 1, close)));
+				output.add(Token.of(Token.TokenType.DQUOTE));
+				break;
+			default:
+				output.add(lexemeToken(text, start, ++i, cls, identifiers));
+				break;
+			}
+		}
+		return output;
+
+	}
+
+	//Keywords are shared tokens and IDs are interned, so only NUM is decoded for every occurrence
+	private static Token lexemeToken(AsciiSequence text, int start, int end, byte cls, IdentifierTable identifiers)
+			throws LexicalException {
+		int keyword = KeywordRecognizer.find(text.bytes, start, end);
+		if (keyword >= 0)
+			return KeywordRecognizer.token(keyword, identifiers);
+		if (cls == LexicalAnalyser.DIGIT)
+			return new Token(Token.TokenType.NUM, decode(text.bytes, start, end));
+		if (cls == LexicalAnalyser.LETTER)
+			return identifiers.intern(Token.TokenType.ID, text, start, end);
+		throw new LexicalException("Unrecognised token: " + decode(text.bytes, start, end));
+	}
+
+	private static int endOfPair(ByteBuffer source, int i, byte second) throws LexicalException {
+		if (i + 1 >= source.limit())
+			throw new LexicalException("Unexpected end of input after: " + (char) source.get(i));
+		return source.get(i + 1) == second ? i + 2 : i + 1;
+	}
+
+	private static int endOfQuoted(ByteBuffer source, int start, int end, String malformed) throws LexicalException {
+		for (int i = start + 1; i < end; i++) {
+			byte cls = LexicalAnalyser.classOf((char) source.get(i));
+			if (cls == LexicalAnalyser.SPACE || cls == LexicalAnalyser.PIPE)
+				throw new LexicalException(malformed + decode(source, start, i));
+		}
+		return end;
+	}
+
+	private static boolean isAscii(ByteBuffer source, int start, int end) {
+		for (int i = start; i < end; i++)
+			if (source.get(i) < 0)
+				return false;
+		return true;
+	}
+
+	private static String decode(ByteBuffer source, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		source.get(start, bytes);
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+
+	//ASCII bytes seen as chars, so identifiers can be interned without decoding them first
+	private static class AsciiSequence implements CharSequence {
+
+		final ByteBuffer bytes;
+
+		AsciiSequence(ByteBuffer bytes) {
+			this.bytes = bytes;
+		}
+
+		@Override
+		public int length() {
+			return bytes.limit();
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) bytes.get(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return decode(bytes, start, end);
+		}
+
+		@Override
+		public String toString() {
+			return decode(bytes, 0, bytes.limit());
+		}
+
+	}
+
+}
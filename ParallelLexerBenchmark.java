@@ -0,0 +1,32 @@
+import java.util.concurrent.ForkJoinPool;
+
+//Measures how ParallelLexicalAnalyser scales with the number of worker threads on one large
+//generated program, against the sequential LexicalAnalyser.analyseToBuffer as the baseline.
+//Usage: java ParallelLexerBenchmark [statements] [maxThreads] [millisPerMeasurement]
+public class ParallelLexerBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long millis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+		String source = BenchmarkSupport.generateProgram(statements, 8675309);
+
+		double sequential = BenchmarkSupport.nanosPerRun(() -> LexicalAnalyser.analyseToBuffer(source), millis);
+		System.out.printf("%d chars, %d available processors%n", source.length(),
+				Runtime.getRuntime().availableProcessors());
+		System.out.printf("%10s %12s %10s%n", "threads", "MB/s", "speedup");
+		System.out.printf("%10s %12.2f %10.2f%n", "sequential", BenchmarkSupport.megabytesPerSecond(source.length(),
+				sequential), 1.0);
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			//A few pieces per thread so an uneven cut does not leave a thread idle; one thread runs sequentially
+			int threshold = Math.max(ParallelLexicalAnalyser.DEFAULT_THRESHOLD, source.length() / (4 * threads));
+			double nanos = BenchmarkSupport.nanosPerRun(
+					() -> ParallelLexicalAnalyser.analyseToBuffer(source, pool, threshold), millis);
+			System.out.printf("%10d %12.2f %10.2f%n", threads, BenchmarkSupport.megabytesPerSecond(source.length(),
+					nanos), sequential / nanos);
+			pool.shutdown();
+		}
+	}
+
+}
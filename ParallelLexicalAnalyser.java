@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//Lexes one large source on a fork-join pool. The source is halved recursively, each cut moved
+//forward to the next whitespace character, and the pieces are lexed independently into
+//TokenBuffers over the same source that are then joined in order.
+//Any whitespace is a safe place to cut, even inside a quoted literal: a literal containing
+//whitespace is malformed, so the piece it starts in fails on it, and since the first failing piece
+//in source order is the one reported, the result (tokens or exception) is always exactly what
+//LexicalAnalyser.analyseToBuffer gives. No pass to find where literals are is needed.
+public class ParallelLexicalAnalyser {
+
+	//Below this many characters splitting costs more than it saves
+	public static final int DEFAULT_THRESHOLD = 1 << 18;
+
+	public static List<Token> analyse(String sourceCode) throws LexicalException {
+		return new ArrayList<Token>(analyseToBuffer(sourceCode).asList());
+	}
+
+	public static TokenBuffer analyseToBuffer(String sourceCode) throws LexicalException {
+		return analyseToBuffer(sourceCode, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	//Pieces are no smaller than threshold characters, apart from where no whitespace is found
+	public static TokenBuffer analyseToBuffer(String sourceCode, ForkJoinPool pool, int threshold)
+			throws LexicalException {
+		if (threshold < 1)
+			throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+		if (sourceCode.length() <= threshold || pool.getParallelism() == 1)
+			return LexicalAnalyser.analyseToBuffer(sourceCode);
+		try {
+			return pool.invoke(new Piece(sourceCode, new IdentifierTable(), 0, sourceCode.length(), threshold));
+		} catch (PieceFailed e) {
+			//join may hand back a copy wrapping the original, so look down the chain
+			Throwable cause = e.getCause();
+			while (!(cause instanceof LexicalException))
+				cause = cause.getCause();
+			throw (LexicalException) cause;
+		}
+	}
+
+	//The first whitespace at or after from and before to, or to if there is none
+	static int cutAfter(String sourceCode, int from, int to) {
+		for (int i = from; i < to; i++)
+			if (LexicalAnalyser.classOf(sourceCode.charAt(i)) == LexicalAnalyser.SPACE)
+				return i;
+		return to;
+	}
+
+	private static class Piece extends RecursiveTask<TokenBuffer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String sourceCode;
+		private final IdentifierTable identifiers;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		Piece(String sourceCode, IdentifierTable identifiers, int from, int to, int threshold) {
+			this.sourceCode = sourceCode;
+			this.identifiers = identifiers;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected TokenBuffer compute() {
+			if (to - from > 2 * threshold) {
+				int cut = cutAfter(sourceCode, from + (to - from) / 2, to);
+				if (cut < to) {
+					Piece right = new Piece(sourceCode, identifiers, cut, to, threshold);
+					right.fork();
+					//If the left half fails its exception wins, whatever the right half does
+					TokenBuffer left = new Piece(sourceCode, identifiers, from, cut, threshold).compute();
+					left.append(right.join());
+					return left;
+				}
+			}
+			TokenBuffer output = new TokenBuffer(sourceCode, identifiers, Math.max(16, (to - from) / 4));
+			try {
+				LexicalAnalyser.analyse(sourceCode, from, to, output);
+			} catch (LexicalException e) {
+				throw new PieceFailed(e);
+			}
+			return output;
+		}
+
+	}
+
+	//Carries a piece's checked exception out of the pool
+	private static class PieceFailed extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		PieceFailed(LexicalException cause) {
+			super(cause);
+		}
+
+	}
+
+}
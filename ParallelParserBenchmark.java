@@ -0,0 +1,30 @@
+import java.util.concurrent.ForkJoinPool;
+
+//Measures how ParallelSyntacticAnalyser scales with the number of worker threads on one large
+//generated program, against the sequential SyntacticAnalyser.parse as the baseline.
+//Usage: java ParallelParserBenchmark [statements] [maxThreads] [millisPerMeasurement]
+public class ParallelParserBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long millis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+		TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(statements, 8675309));
+
+		double sequential = BenchmarkSupport.nanosPerRun(() -> SyntacticAnalyser.parse(tokens), millis);
+		System.out.printf("%d tokens, %d available processors%n", tokens.size(),
+				Runtime.getRuntime().availableProcessors());
+		System.out.printf("%10s %14s %10s%n", "threads", "Mtokens/s", "speedup");
+		System.out.printf("%10s %14.2f %10.2f%n", "sequential", tokens.size() / sequential * 1e3, 1.0);
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			//A few runs of statements per thread so an uneven cut does not leave a thread idle
+			int threshold = Math.max(ParallelSyntacticAnalyser.DEFAULT_THRESHOLD, tokens.size() / (4 * threads));
+			double nanos = BenchmarkSupport.nanosPerRun(() -> ParallelSyntacticAnalyser.parse(tokens, pool, threshold),
+					millis);
+			System.out.printf("%10d %14.2f %10.2f%n", threads, tokens.size() / nanos * 1e3, sequential / nanos);
+			pool.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//Parses one large program on a fork-join pool. Nearly all of a program is the los of main's body,
+//so the statements of that los are found by a scan of the tokens, ending at each ; and each }
+//(not followed by else) outside any block or parentheses, and are parsed independently, a run of
+//them per task. The runs are chained into the right-recursive los the sequential parser builds,
+//inside a tree parsed from the class and main method around the body, and each chain's first
+//terminal gets the parent it would have had from the token before it.
+//Each statement has to end exactly where the scan said it would. If one does not, or anything
+//else fails, the program is parsed again sequentially, so the result (tree or exception) is
+//always exactly what SyntacticAnalyser.parse gives.
+public class ParallelSyntacticAnalyser {
+
+	//Below this many tokens splitting costs more than it saves
+	public static final int DEFAULT_THRESHOLD = 1 << 15;
+
+	//Tokens of prog before and after the los of main's body
+	private static final int HEADER = 13;
+	private static final int FOOTER = 2;
+
+	private static final int SEMICOLON = Token.TokenType.SEMICOLON.ordinal();
+	private static final int LBRACE = Token.TokenType.LBRACE.ordinal();
+	private static final int RBRACE = Token.TokenType.RBRACE.ordinal();
+	private static final int LPAREN = Token.TokenType.LPAREN.ordinal();
+	private static final int RPAREN = Token.TokenType.RPAREN.ordinal();
+	private static final int ELSE = Token.TokenType.ELSE.ordinal();
+
+	public static ParseTree parse(TokenBuffer tokens) throws SyntaxException {
+		return parse(tokens, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	//Runs of statements are no smaller than threshold tokens, apart from single statements
+	public static ParseTree parse(TokenBuffer tokens, ForkJoinPool pool, int threshold) throws SyntaxException {
+		if (threshold < 1)
+			throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+		if (tokens.size() <= threshold || pool.getParallelism() == 1)
+			return SyntacticAnalyser.parse(tokens);
+		ParseTree tree = stitch(tokens, pool, threshold);
+		return tree != null ? tree : SyntacticAnalyser.parse(tokens);
+	}
+
+	private static ParseTree stitch(TokenBuffer tokens, ForkJoinPool pool, int threshold) {
+		int[] starts = statementStarts(tokens);
+		if (starts == null)
+			return null;
+		List<Token> list = tokens.asList();
+		List<Token> frame = new ArrayList<Token>(list.subList(0, HEADER));
+		frame.addAll(list.subList(list.size() - FOOTER, list.size()));
+		ParseResult outside = SyntacticAnalyser.tryParse(frame);
+		if (outside.hasErrors())
+			return null;
+		if (starts.length == 1)
+			return outside.getTree();
+
+		Chain chain = pool.invoke(new Statements(list, starts, 0, starts.length - 1, threshold));
+		if (chain == null)
+			return null;
+		TreeNode root = outside.getTree().getRoot();
+		TreeNode body = root.childAt(HEADER);
+		root.getChildren().set(HEADER, chain.head);
+		chain.head.setParent(root);
+		chain.tail.addChild(body);
+		body.setParent(chain.tail);
+		//The { before the body went to the root; the } after it goes where the body's last token did
+		chain.first.setParent(root);
+		root.childAt(HEADER + 1).setParent(chain.lastParent);
+		return outside.getTree();
+	}
+
+	//Where each statement of main's body starts, followed by where the body ends, or null if the
+	//tokens cannot be a program
+	static int[] statementStarts(TokenBuffer tokens) {
+		int end = tokens.size() - FOOTER;
+		if (end < HEADER)
+			return null;
+		int[] starts = new int[64];
+		int count = 0;
+		starts[count++] = HEADER;
+		int depth = 0;
+		int parens = 0;
+		for (int i = HEADER; i < end; i++) {
+			int type = tokens.typeOrdinal(i);
+			boolean ends = false;
+			if (type == LPAREN) {
+				parens++;
+			} else if (type == RPAREN) {
+				parens--;
+			} else if (type == LBRACE) {
+				depth++;
+			} else if (type == RBRACE) {
+				if (--depth < 0)
+					return null;
+				ends = depth == 0 && (i + 1 == end || tokens.typeOrdinal(i + 1) != ELSE);
+			} else if (type == SEMICOLON) {
+				ends = depth == 0 && parens == 0;
+			}
+			if (ends) {
+				if (count == starts.length)
+					starts = Arrays.copyOf(starts, count * 2);
+				starts[count++] = i + 1;
+			}
+		}
+		if (starts[count - 1] != end)
+			return null;
+		return Arrays.copyOf(starts, count);
+	}
+
+	//A run of statements as a los chain, not yet ended: its first and last los, the first terminal,
+	//whose parent is left to be set, and where the last token went
+	private static class Chain {
+		TreeNode head;
+		TreeNode tail;
+		TreeNode first;
+		TreeNode lastParent;
+	}
+
+	//Parses statements from up to to into a Chain, or gives null if any does not parse as scanned
+	private static class Statements extends RecursiveTask<Chain> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<Token> tokens;
+		private final int[] starts;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		Statements(List<Token> tokens, int[] starts, int from, int to, int threshold) {
+			this.tokens = tokens;
+			this.starts = starts;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected Chain compute() {
+			if (to - from > 1 && starts[to] - starts[from] > 2 * threshold) {
+				int middle = from + (to - from) / 2;
+				Statements right = new Statements(tokens, starts, middle, to, threshold);
+				right.fork();
+				Chain left = new Statements(tokens, starts, from, middle, threshold).compute();
+				Chain rest = right.join();
+				if (left == null || rest == null)
+					return null;
+				rest.first.setParent(left.lastParent);
+				left.tail.addChild(rest.head);
+				rest.head.setParent(left.tail);
+				left.tail = rest.tail;
+				left.lastParent = rest.lastParent;
+				return left;
+			}
+			Chain chain = new Chain();
+			ParseTreeBuilder builder = new ParseTreeBuilder(null, null);
+			for (int s = from; s < to; s++) {
+				TreeNode los = new TreeNode(TreeNode.Label.los, chain.tail);
+				if (chain.tail == null)
+					chain.head = los;
+				else
+					chain.tail.addChild(los);
+				chain.tail = los;
+				builder.setCurrent(los);
+				//The token after the statement is in view, as it is to the sequential parser
+				Diagnostic end = SyntacticAnalyser.run(tokens.subList(starts[s], tokens.size()), TreeNode.Label.stat,
+						builder, null);
+				if (end == null || end.getKind() != Diagnostic.Kind.TRAILING_TOKENS
+						|| end.getTokenIndex() != starts[s + 1] - starts[s])
+					return null;
+			}
+			TreeNode first = chain.head;
+			while (first.getLabel() != TreeNode.Label.terminal)
+				first = first.childAt(0);
+			chain.first = first;
+			chain.lastParent = builder.getLastParent();
+			return chain;
+		}
+
+	}
+
+}
@@ -0,0 +1,16 @@
+//Receives a parse as events, in the order SyntacticAnalyser.parse(tokens, listener) applies the
+//grammar: a variable is entered when one of its alternatives is chosen and exited once everything
+//it derives has been matched, with its terminals and inner variables in between. A variable that
+//derives nothing gets a single epsilon call instead of enter and exit. Nothing is built beyond what
+//the listener builds itself; ParseTreeBuilder is the listener parse uses to build a ParseTree.
+public interface ParseListener {
+
+	void enter(TreeNode.Label variable);
+
+	void exit(TreeNode.Label variable);
+
+	void terminal(Token token);
+
+	void epsilon(TreeNode.Label variable);
+
+}
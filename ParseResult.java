@@ -0,0 +1,36 @@
+import java.util.Collections;
+import java.util.List;
+
+//What SyntacticAnalyser.tryParse or parseWithRecovery produced: the parse tree and the syntax
+//errors found, in order. tryParse gives either a complete tree and no errors or no tree and the
+//first error; parseWithRecovery gives the tree as far as it could be built and every error.
+public class ParseResult {
+
+	private final ParseTree tree;
+	private final List<Diagnostic> diagnostics;
+
+	ParseResult(ParseTree tree, List<Diagnostic> diagnostics) {
+		this.tree = tree;
+		this.diagnostics = Collections.unmodifiableList(diagnostics);
+	}
+
+	public ParseTree getTree() {
+		return this.tree;
+	}
+
+	public List<Diagnostic> getDiagnostics() {
+		return this.diagnostics;
+	}
+
+	public boolean hasErrors() {
+		return !diagnostics.isEmpty();
+	}
+
+	//The tree, or the first error as a SyntaxException
+	public ParseTree getTreeOrThrow() throws SyntaxException {
+		if (hasErrors())
+			throw diagnostics.get(0).toException();
+		return this.tree;
+	}
+
+}
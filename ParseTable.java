@@ -0,0 +1,122 @@
+//The SimpleJava LL(1) parse table, generated once from GRAMMAR by Grammar. Grammar symbols are
+//shorts: a terminal is its TokenType ordinal and a variable is TERMINALS plus its Label ordinal.
+//Right-hand sides are kept in push order (last symbol first), so predicting a production is two
+//array lookups and a copy onto the stack.
+//Rule numbers count the grammar's alternatives in order; the epsilon alternatives share rule 0.
+class ParseTable {
+
+	static final int TERMINALS = Token.TokenType.values().length;
+	static final short PROG = symbol(TreeNode.Label.prog);
+
+	//Table entries that are not rule numbers
+	static final int ERROR = -1;
+	static final int EPSILON = 0;
+	static final int BY_VALUE = -2; //the rule depends on the token's value, as <<type>> on TYPE does
+
+	static final String GRAMMAR = """
+			# SimpleJava
+			prog -> PUBLIC CLASS ID LBRACE PUBLIC STATIC VOID MAIN LPAREN STRINGARR ARGS RPAREN LBRACE los RBRACE RBRACE
+			los -> stat los | epsilon
+			stat -> whilestat | forstat | ifstat | assign SEMICOLON | decl SEMICOLON | print SEMICOLON | SEMICOLON
+			whilestat -> WHILE LPAREN relexpr boolexpr RPAREN LBRACE los RBRACE
+			forstat -> FOR LPAREN forstart SEMICOLON relexpr boolexpr SEMICOLON forarith RPAREN LBRACE los RBRACE
+			forstart -> decl | assign | epsilon
+			forarith -> arithexpr | epsilon
+			ifstat -> IF LPAREN relexpr boolexpr RPAREN LBRACE los RBRACE elseifstat
+			elseifstat -> elseorelseif LBRACE los RBRACE elseifstat | epsilon
+			elseorelseif -> ELSE possif
+			possif -> IF LPAREN relexpr boolexpr RPAREN | epsilon
+			assign -> ID ASSIGN expr
+			decl -> type ID possassign
+			possassign -> ASSIGN expr | epsilon
+			print -> PRINT LPAREN printexpr RPAREN
+			type -> TYPE(int) | TYPE(boolean) | TYPE(char)
+			expr -> relexpr boolexpr | charexpr
+			charexpr -> SQUOTE CHARLIT SQUOTE
+			boolexpr -> boolop relexpr boolexpr | epsilon
+			boolop -> booleq | boollog
+			booleq -> EQUAL | NEQUAL
+			boollog -> AND | OR
+			relexpr -> arithexpr relexprprime | TRUE | FALSE
+			relexprprime -> relop arithexpr | epsilon
+			relop -> LT | LE | GT | GE
+			arithexpr -> term arithexprprime
+			arithexprprime -> PLUS term arithexprprime | MINUS term arithexprprime | epsilon
+			term -> factor termprime
+			termprime -> TIMES factor termprime | DIVIDE factor termprime | MOD factor termprime | epsilon
+			factor -> LPAREN arithexpr RPAREN | ID | NUM
+			printexpr -> relexpr boolexpr | DQUOTE STRINGLIT DQUOTE
+
+			# Cells where the original hand-written table differs from the grammar's, kept so that the
+			# same programs are accepted and rejected at the same token
+			%table boollog OR : NEQUAL
+			%table forarith NUM : error
+			%table arithexprprime ID NUM : epsilon
+			%table termprime LT LE GT GE : error
+			""";
+
+	private static final TreeNode.Label[] LABELS = TreeNode.Label.values();
+
+	private static final short[][] PRODUCTIONS;
+	private static final int[][] TABLE;
+	//For variables with BY_VALUE cells: the values told apart and the rule each picks
+	private static final String[][] SPELLINGS = new String[LABELS.length][];
+	private static final int[][] SPELLING_RULES = new int[LABELS.length][];
+
+	static {
+		Grammar grammar = Grammar.parse(GRAMMAR);
+		TABLE = grammar.table();
+		PRODUCTIONS = grammar.rightHandSides();
+		for (TreeNode.Label label : LABELS) {
+			SPELLINGS[label.ordinal()] = grammar.valueSpellings(label);
+			SPELLING_RULES[label.ordinal()] = grammar.valueRules(label);
+		}
+	}
+
+	static short symbol(Symbol symbol) {
+		if (symbol.isVariable())
+			return (short) (TERMINALS + ((TreeNode.Label) symbol).ordinal());
+		return (short) ((Token.TokenType) symbol).ordinal();
+	}
+
+	static boolean isTerminal(int symbol) {
+		return symbol < TERMINALS;
+	}
+
+	static TreeNode.Label label(int variable) {
+		return LABELS[variable - TERMINALS];
+	}
+
+	//The rule for expanding the variable on seeing the token, EPSILON, or ERROR
+	static int predict(int variable, Token token) {
+		int rule = TABLE[variable - TERMINALS][token.getType().ordinal()];
+		if (rule == BY_VALUE) {
+			String value = token.getValue().get();
+			String[] spellings = SPELLINGS[variable - TERMINALS];
+			for (int i = 0; i < spellings.length; i++)
+				if (spellings[i].equals(value))
+					return SPELLING_RULES[variable - TERMINALS][i];
+			return ERROR;
+		}
+		return rule;
+	}
+
+	//The same for the index-th token of a buffer, without building the token
+	static int predict(int variable, TokenBuffer tokens, int index) {
+		int rule = TABLE[variable - TERMINALS][tokens.typeOrdinal(index)];
+		if (rule == BY_VALUE) {
+			String[] spellings = SPELLINGS[variable - TERMINALS];
+			for (int i = 0; i < spellings.length; i++)
+				if (tokens.valueEquals(index, spellings[i]))
+					return SPELLING_RULES[variable - TERMINALS][i];
+			return ERROR;
+		}
+		return rule;
+	}
+
+	//The rule's right-hand side in push order
+	static short[] production(int rule) {
+		return PRODUCTIONS[rule];
+	}
+
+}
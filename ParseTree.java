@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
 public class ParseTree {
 
 	private TreeNode root;
@@ -18,35 +23,54 @@ public class ParseTree {
 		this.root = root;
 	}
 
-	private String spaces(int num) {
-		String s = "";
-
-		for (int i = 0; i < num - 1; i++)
-			s += "| ";
-
-		s += "|-";
-
-		return s;
-	}
-
-	private String stringify(TreeNode current, int depth) {
-
-		String s = current.toString() + "\n";
-		if (current.getChildren().size() > 0) {
-			for (int i = 0; i < current.getChildren().size() - 1; i++) {
-				s += spaces(depth + 1) + stringify(current.getChildren().get(i), depth + 1);
+	//Writes what toString gives, one line per node in preorder, each child indented under its parent
+	//with "| " for every level above it and "|-" for its own. The tree is walked with a stack of its
+	//own, so deep trees can be written, and nothing is built up beyond a line at a time.
+	public void write(Appendable out) throws IOException {
+		if (null == root) {
+			out.append("EMPTY TREE");
+			return;
+		}
+		//"| | | ..." at least as long as the deepest line so far needs, to write prefixes from
+		String bars = "| ".repeat(32);
+		TreeNode[] nodes = new TreeNode[64];
+		int[] next = new int[64];
+		int depth = 0;
+		nodes[depth++] = root;
+		out.append(root.toString()).append('\n');
+		while (depth > 0) {
+			TreeNode node = nodes[depth - 1];
+			int i = next[depth - 1];
+			if (i == node.childCount()) {
+				next[--depth] = 0;
+				continue;
+			}
+			next[depth - 1]++;
+			TreeNode child = node.childAt(i);
+			if (bars.length() < 2 * (depth - 1))
+				bars = bars + bars;
+			if (out instanceof Writer)
+				((Writer) out).write(bars, 0, 2 * (depth - 1));
+			else
+				out.append(bars, 0, 2 * (depth - 1));
+			out.append("|-").append(child.toString()).append('\n');
+			if (depth == nodes.length) {
+				nodes = Arrays.copyOf(nodes, depth * 2);
+				next = Arrays.copyOf(next, depth * 2);
 			}
-			s += spaces(depth + 1) + stringify(current.getChildren().get(current.getChildren().size() - 1), depth + 1);
+			nodes[depth++] = child;
 		}
-
-		return s;
-
 	}
 
 	@Override
 	public String toString() {
-		if (null == root)
-			return "EMPTY TREE";
-		return stringify(root, 0);
+		StringBuilder sb = new StringBuilder();
+		try {
+			write(sb);
+		} catch (IOException e) {
+			//A StringBuilder never throws
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
 	}
 }
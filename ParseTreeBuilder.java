@@ -0,0 +1,68 @@
+//Builds the ParseTree the original parser did from parse events: a node per variable, with an
+//epsilon child for each that derives nothing, and a node per terminal.
+public class ParseTreeBuilder implements ParseListener {
+
+	private ParseTree tree;
+	private TreeNode current;
+	//A terminal's parent is where the previous token went, as the original parser had it
+	private TreeNode lastParent;
+
+	public ParseTreeBuilder() {
+	}
+
+	//Builds under an existing node, with the previous token having gone to lastParent
+	ParseTreeBuilder(TreeNode current, TreeNode lastParent) {
+		this.current = current;
+		this.lastParent = lastParent;
+	}
+
+	//The tree once the parse is done, or null if nothing was entered
+	public ParseTree getTree() {
+		return this.tree;
+	}
+
+	//Where the next variable or terminal goes
+	TreeNode getCurrent() {
+		return this.current;
+	}
+
+	void setCurrent(TreeNode current) {
+		this.current = current;
+	}
+
+	TreeNode getLastParent() {
+		return this.lastParent;
+	}
+
+	@Override
+	public void enter(TreeNode.Label variable) {
+		TreeNode node = new TreeNode(variable, current);
+		if (current == null) {
+			tree = new ParseTree(node);
+			lastParent = node;
+		} else {
+			current.addChild(node);
+		}
+		current = node;
+	}
+
+	@Override
+	public void exit(TreeNode.Label variable) {
+		current.trimChildren();
+		current = current.getParent();
+	}
+
+	@Override
+	public void terminal(Token token) {
+		current.addChild(new TreeNode(TreeNode.Label.terminal, token, lastParent));
+		lastParent = current;
+	}
+
+	@Override
+	public void epsilon(TreeNode.Label variable) {
+		TreeNode node = new TreeNode(variable, current);
+		current.addChild(node);
+		node.addChild(new TreeNode(TreeNode.Label.epsilon, node));
+	}
+
+}
@@ -0,0 +1,27 @@
+//Heap kept per node by a parse tree of TreeNodes, from SyntacticAnalyser.parse, and by a
+//FlatParseTree of the same program, both parsed from one TokenBuffer that is not counted. The
+//TreeNode figure includes the Tokens the terminals hold; a FlatParseTree holds token indices.
+//Usage: java ParseTreeFootprintBenchmark [statements]
+public class ParseTreeFootprintBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(statements, 2001));
+
+		long before = BenchmarkSupport.usedHeap();
+		ParseTree tree = SyntacticAnalyser.parse(tokens);
+		long treeBytes = BenchmarkSupport.usedHeap() - before;
+		before = BenchmarkSupport.usedHeap();
+		FlatParseTree flat = FlatParseTree.parse(tokens);
+		long flatBytes = BenchmarkSupport.usedHeap() - before;
+
+		int nodes = flat.size();
+		System.out.printf("%d tokens, %d nodes%n", tokens.size(), nodes);
+		System.out.printf("%-16s %14s %12s%n", "", "bytes", "bytes/node");
+		System.out.printf("%-16s %14d %12.1f%n", "TreeNode", treeBytes, (double) treeBytes / nodes);
+		System.out.printf("%-16s %14d %12.1f%n", "FlatParseTree", flatBytes, (double) flatBytes / nodes);
+		//Keep both trees reachable until they have been measured
+		System.out.println(tree.getRoot().getLabel() + " " + flat.getLabel(0));
+	}
+
+}
@@ -0,0 +1,59 @@
+import java.util.ArrayList;
+import java.util.List;
+
+//Bytes allocated per token by the original parser in LegacySyntacticAnalyser and by
+//SyntacticAnalyser.parse, against the bytes needed just to build the resulting tree node by node.
+//What a parser allocates beyond the tree is its own overhead: stack entries, grammar symbols and
+//markers. SyntacticAnalyser.parse should show none of it.
+//Usage: java ParserAllocationBenchmark [statements] [runs]
+public class ParserAllocationBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		List<Token> tokens = LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(statements, 1984));
+
+		//Flatten the tree beforehand so that rebuilding it allocates only the nodes. Parents are
+		//taken from the structure, since a terminal's getParent() need not be the node holding it.
+		List<TreeNode> order = new ArrayList<TreeNode>();
+		List<Integer> parents = new ArrayList<Integer>();
+		List<TreeNode> pending = new ArrayList<TreeNode>();
+		List<Integer> pendingParents = new ArrayList<Integer>();
+		pending.add(SyntacticAnalyser.parse(tokens).getRoot());
+		pendingParents.add(-1);
+		while (!pending.isEmpty()) {
+			TreeNode node = pending.remove(pending.size() - 1);
+			parents.add(pendingParents.remove(pendingParents.size() - 1));
+			order.add(node);
+			for (int i = node.getChildren().size() - 1; i >= 0; i--) {
+				pending.add(node.getChildren().get(i));
+				pendingParents.add(order.size() - 1);
+			}
+		}
+		int[] parentIndex = new int[order.size()];
+		for (int i = 0; i < order.size(); i++)
+			parentIndex[i] = parents.get(i);
+		TreeNode[] copies = new TreeNode[order.size()];
+
+		double legacy = BenchmarkSupport.bytesPerRun(runs, () -> LegacySyntacticAnalyser.parse(tokens));
+		double table = BenchmarkSupport.bytesPerRun(runs, () -> SyntacticAnalyser.parse(tokens));
+		double tree = BenchmarkSupport.bytesPerRun(runs, () -> {
+			for (int i = 0; i < copies.length; i++) {
+				TreeNode node = order.get(i);
+				TreeNode parent = i == 0 ? null : copies[parentIndex[i]];
+				copies[i] = node.getToken().isPresent() ? new TreeNode(node.getLabel(), node.getToken().get(), parent)
+						: new TreeNode(node.getLabel(), parent);
+				if (parent != null)
+					parent.addChild(copies[i]);
+			}
+		});
+
+		int n = tokens.size();
+		System.out.printf("%d tokens, %d nodes%n", n, order.size());
+		System.out.printf("%-22s %10s %14s%n", "", "bytes/token", "beyond tree");
+		System.out.printf("%-22s %10.1f %14s%n", "tree alone", tree / n, "-");
+		System.out.printf("%-22s %10.1f %14.1f%n", "legacy parser", legacy / n, (legacy - tree) / n);
+		System.out.printf("%-22s %10.1f %14.1f%n", "SyntacticAnalyser", table / n, (table - tree) / n);
+	}
+
+}
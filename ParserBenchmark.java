@@ -0,0 +1,27 @@
+import java.util.List;
+
+//Compares SyntacticAnalyser's two backends, the table-driven parser and the generated recursive
+//descent one, with the original switch-based parser kept in LegacySyntacticAnalyser, reporting
+//tokens parsed per second for increasingly large programs.
+//Usage: java ParserBenchmark [maxStatements] [millisPerMeasurement]
+public class ParserBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int maxStatements = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+		System.out.printf("%10s %10s %16s %16s %16s%n", "statements", "tokens", "legacy tok/s", "table tok/s",
+				"descent tok/s");
+		for (int statements = 1000; statements <= maxStatements; statements *= 4) {
+			List<Token> tokens = LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(statements, statements));
+			double legacy = BenchmarkSupport.nanosPerRun(() -> LegacySyntacticAnalyser.parse(tokens), millis);
+			double table = BenchmarkSupport.nanosPerRun(
+					() -> SyntacticAnalyser.parse(tokens, SyntacticAnalyser.Backend.TABLE), millis);
+			double descent = BenchmarkSupport.nanosPerRun(
+					() -> SyntacticAnalyser.parse(tokens, SyntacticAnalyser.Backend.DESCENT), millis);
+			System.out.printf("%10d %10d %16.0f %16.0f %16.0f%n", statements, tokens.size(),
+					tokens.size() * 1e9 / legacy, tokens.size() * 1e9 / table, tokens.size() * 1e9 / descent);
+		}
+	}
+
+}
@@ -0,0 +1,595 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Checks the parser beyond the marked tests: that it builds exactly the trees, and throws exactly
+// the exceptions, of the original switch-based parser kept in LegacySyntacticAnalyser, and where
+// errors are reported.
+public class ParserTests {
+
+	//Tokens the mutations draw from, including ones the lexer never produces
+	private static final Token[] NOISE = { Token.of(Token.TokenType.SEMICOLON), Token.of(Token.TokenType.RBRACE),
+			Token.of(Token.TokenType.LBRACE), Token.of(Token.TokenType.RPAREN), Token.of(Token.TokenType.LPAREN),
+			Token.of(Token.TokenType.ELSE), Token.of(Token.TokenType.IF), Token.of(Token.TokenType.OR),
+			Token.of(Token.TokenType.AND), Token.of(Token.TokenType.LT), Token.of(Token.TokenType.GE),
+			Token.of(Token.TokenType.NEQUAL), Token.of(Token.TokenType.EQUAL), Token.of(Token.TokenType.PLUS),
+			Token.of(Token.TokenType.TIMES), Token.of(Token.TokenType.SQUOTE), Token.of(Token.TokenType.DQUOTE),
+			Token.of(Token.TokenType.TRUE), new Token(Token.TokenType.ID, "q"), new Token(Token.TokenType.NUM, "7"),
+			new Token(Token.TokenType.TYPE, "int"), new Token(Token.TokenType.TYPE, "float"),
+			new Token(Token.TokenType.CHARLIT, "c"), new Token(Token.TokenType.STRINGLIT, "s") };
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	@Test
+	public void testGeneratedProgramsMatchLegacy() throws LexicalException {
+		for (long seed = 0; seed < 20; seed++)
+			assertSameAsLegacy(LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(60, seed)));
+		//The lexer has no relational operators, so put one in by hand
+		List<Token> tokens = new ArrayList<Token>(LexicalAnalyser.analyse(
+				"public class T { public static void main(String[] args) { while (a == b && c) { } } }"));
+		tokens.set(tokens.indexOf(Token.of(Token.TokenType.EQUAL)), Token.of(Token.TokenType.LT));
+		assertSameAsLegacy(tokens);
+	}
+
+	@Test
+	public void testMutatedProgramsMatchLegacy() throws LexicalException {
+		Random random = new Random(65);
+		List<Token> program = LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(30, 65));
+		for (int n = 0; n < 3000; n++) {
+			List<Token> tokens = new ArrayList<Token>(program);
+			for (int m = random.nextInt(3); m >= 0; m--) {
+				int at = random.nextInt(tokens.size());
+				switch (random.nextInt(3)) {
+				case 0:
+					tokens.remove(at);
+					break;
+				case 1:
+					tokens.add(at, NOISE[random.nextInt(NOISE.length)]);
+					break;
+				default:
+					tokens.set(at, NOISE[random.nextInt(NOISE.length)]);
+					break;
+				}
+			}
+			assertSameAsLegacy(tokens);
+		}
+	}
+
+	@Test
+	public void testSyntaxErrorReportsPosition() throws LexicalException {
+		String source = "public class Test {\n\tpublic static void main(String[] args) {\n\t\tint x = ;\n\t}\n}";
+		TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(source);
+		SyntaxException e = assertThrows(SyntaxException.class, () -> SyntacticAnalyser.parse(tokens));
+		assertEquals(16, e.getTokenIndex());
+		assertEquals(Token.TokenType.SEMICOLON, tokens.getType(e.getTokenIndex()));
+		assertEquals(source.indexOf(" ;") + 1, e.getOffset());
+		assertEquals(3, e.getLine());
+		assertEquals(11, e.getColumn());
+		assertTrue(e.getMessage().endsWith("(line 3, column 11)"));
+
+		//The list overload still knows which token it failed on
+		SyntaxException fromList = assertThrows(SyntaxException.class,
+				() -> SyntacticAnalyser.parse(LexicalAnalyser.analyse(source)));
+		assertEquals(16, fromList.getTokenIndex());
+		assertEquals(-1, fromList.getLine());
+	}
+
+	@Test
+	public void testRunningOutOfTokensReportsEndOfSource() throws LexicalException {
+		String source = "public class Test {\n\tpublic static void main(String[] args) {\n";
+		SyntaxException e = assertThrows(SyntaxException.class,
+				() -> SyntacticAnalyser.parse(LexicalAnalyser.analyseToBuffer(source)));
+		assertEquals(13, e.getTokenIndex());
+		assertEquals(source.length(), e.getOffset());
+		assertEquals(3, e.getLine());
+		assertEquals(1, e.getColumn());
+	}
+
+	@Test
+	public void testValidationReportsPosition() throws LexicalException {
+		String source = "public class Test {\n\tpublic static void main(String[] args) {\n\t\tint x = ;\n\t}\n}";
+		Diagnostic result = SyntacticAnalyser.validate(LexicalAnalyser.analyseToBuffer(source));
+		assertEquals(Diagnostic.Kind.NO_RULE, result.getKind());
+		assertEquals(16, result.getTokenIndex());
+		assertEquals(3, result.getLine());
+		assertEquals(11, result.getColumn());
+		assertTrue(result.getMessage().startsWith("Failed to match variable to token list."));
+
+		String valid = source.replace("= ;", "= 1;");
+		assertNull(SyntacticAnalyser.validate(LexicalAnalyser.analyseToBuffer(valid)));
+		Diagnostic trailing = SyntacticAnalyser.validate(LexicalAnalyser.analyseToBuffer(valid + " ;"));
+		assertEquals(Diagnostic.Kind.TRAILING_TOKENS, trailing.getKind());
+		assertEquals(SyntacticAnalyser.TRAILING_TOKENS, trailing.getMessage());
+		assertEquals(5, trailing.getLine());
+	}
+
+	@Test
+	public void testRecoveryReportsEveryError() throws LexicalException {
+		String source = "public class T {\n\tpublic static void main(String[] args) {\n\t\tint x = ;\n"
+				+ "\t\twhile (x ==) { y = 1; }\n\t\tz = 2 +;\n\t\tok = 4;\n\t}\n}";
+		ParseResult result = SyntacticAnalyser.parseWithRecovery(LexicalAnalyser.analyseToBuffer(source));
+		assertEquals(3, result.getDiagnostics().size());
+		for (int i = 0; i < 3; i++)
+			assertEquals(i + 3, result.getDiagnostics().get(i).getLine());
+
+		//The statement after the errors is in the tree, and the tree is closed off as usual
+		String tree = result.getTree().toString();
+		assertTrue(tree.contains("[ID: Optional[ok]]"));
+		assertTrue(tree.endsWith("|-[terminal, Optional[[RBRACE]]]\n|-[terminal, Optional[[RBRACE]]]\n"));
+
+		//Errors outside any statement end the parse
+		ParseResult header = SyntacticAnalyser
+				.parseWithRecovery(LexicalAnalyser.analyseToBuffer("public class { x = 1; }"));
+		assertEquals(1, header.getDiagnostics().size());
+		assertEquals(2, header.getDiagnostics().get(0).getTokenIndex());
+	}
+
+	@Test
+	public void testListenerEvents() throws LexicalException, SyntaxException {
+		List<String> events = new ArrayList<String>();
+		SyntacticAnalyser.parse(LexicalAnalyser.analyse(
+				"public class T { public static void main(String[] args) { x = 1; } }"), new ParseListener() {
+					public void enter(TreeNode.Label variable) {
+						events.add("enter " + variable);
+					}
+
+					public void exit(TreeNode.Label variable) {
+						events.add("exit " + variable);
+					}
+
+					public void terminal(Token token) {
+						if (token.getType() == Token.TokenType.ID || token.getType() == Token.TokenType.NUM)
+							events.add(token.getValue().get());
+					}
+
+					public void epsilon(TreeNode.Label variable) {
+						events.add("epsilon " + variable);
+					}
+				});
+		assertEquals("[enter prog, T, enter los, enter stat, enter assign, x, enter expr, enter relexpr, "
+				+ "enter arithexpr, enter term, enter factor, 1, exit factor, epsilon termprime, exit term, "
+				+ "epsilon arithexprprime, exit arithexpr, epsilon relexprprime, exit relexpr, epsilon boolexpr, "
+				+ "exit expr, exit assign, exit stat, epsilon los, exit los, exit prog]", events.toString());
+	}
+
+	@Test
+	public void testIncrementalReparseMatchesFullParse() throws LexicalException, SyntaxException {
+		String[] snippets = { "x = 1;", " ", ";", "}", "{", "while (a == b) { y = 2; }", "if (c) { } else { z = 3; }",
+				"int w = 4;", " + 5", "(", ")", "a", "System.out.println(x);", "for (int i = 0; i < 9; i++) { }" };
+		Random random = new Random(19);
+		TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(40, 19));
+		ParseTree tree = SyntacticAnalyser.parse(tokens);
+		for (int n = 0; n < 2000; n++) {
+			String source = tokens.getSource();
+			int offset = random.nextInt(source.length());
+			int removed = random.nextInt(3) == 0 ? random.nextInt(Math.min(40, source.length() - offset)) : 0;
+			IncrementalLexer.Result edit;
+			try {
+				edit = IncrementalLexer.relex(tokens, offset, removed, snippets[random.nextInt(snippets.length)]);
+			} catch (LexicalException e) {
+				continue;
+			}
+			ParseTree expected;
+			try {
+				expected = SyntacticAnalyser.parse(edit.getTokens());
+			} catch (Exception e) {
+				ParseTree before = tree;
+				Exception actual = assertThrows(Exception.class, () -> IncrementalParser.reparse(before, edit));
+				assertEquals(e.getClass(), actual.getClass());
+				assertEquals(e.getMessage(), actual.getMessage());
+				continue;
+			}
+			ParseTree reparsed = IncrementalParser.reparse(tree, edit);
+			assertSameTree(expected, reparsed);
+			tree = reparsed;
+			tokens = edit.getTokens();
+		}
+
+		//Statements away from the edit are kept as they were
+		String source = "public class T { public static void main(String[] args) { a = 1; b = 2; c = 3; } }";
+		tokens = LexicalAnalyser.analyseToBuffer(source);
+		tree = SyntacticAnalyser.parse(tokens);
+		TreeNode los = tree.getRoot().getChildren().get(13);
+		TreeNode first = los.getChildren().get(0);
+		TreeNode last = los.getChildren().get(1).getChildren().get(1).getChildren().get(0);
+		IncrementalLexer.Result edit = IncrementalLexer.relex(tokens, source.indexOf("2"), 1, "(2 + 2)");
+		ParseTree reparsed = IncrementalParser.reparse(tree, edit);
+		assertSame(tree, reparsed);
+		assertSameTree(SyntacticAnalyser.parse(edit.getTokens()), reparsed);
+		assertSame(first, reparsed.getRoot().getChildren().get(13).getChildren().get(0));
+		assertSame(last, reparsed.getRoot().getChildren().get(13).getChildren().get(1).getChildren().get(1)
+				.getChildren().get(0));
+	}
+
+	@Test
+	public void testParallelParsingMatchesSequential() throws LexicalException, SyntaxException {
+		TokenBuffer program = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(2000, 20));
+		assertSameTree(SyntacticAnalyser.parse(program), ParallelSyntacticAnalyser.parse(program, POOL, 50));
+
+		//Edits that break the program, or make the scan cut in the wrong places, give what parse gives
+		String[] snippets = { ";", "}", "{", "else { }", "(", ")", "x = 1;", "for (;;) { }", "if (a) { }" };
+		Random random = new Random(20);
+		String source = BenchmarkSupport.generateProgram(100, 20);
+		for (int n = 0; n < 500; n++) {
+			int offset = random.nextInt(source.length());
+			TokenBuffer tokens;
+			try {
+				tokens = LexicalAnalyser.analyseToBuffer(source.substring(0, offset)
+						+ snippets[random.nextInt(snippets.length)] + source.substring(offset));
+			} catch (LexicalException e) {
+				continue;
+			}
+			ParseTree expected;
+			try {
+				expected = SyntacticAnalyser.parse(tokens);
+			} catch (Exception e) {
+				Exception actual = assertThrows(Exception.class, () -> ParallelSyntacticAnalyser.parse(tokens, POOL, 4));
+				assertEquals(e.getClass(), actual.getClass());
+				assertEquals(e.getMessage(), actual.getMessage());
+				continue;
+			}
+			assertSameTree(expected, ParallelSyntacticAnalyser.parse(tokens, POOL, 4));
+		}
+	}
+
+	@Test
+	public void testFlatTreeMatchesParseTree() throws LexicalException, SyntaxException {
+		for (long seed = 0; seed < 5; seed++) {
+			TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(200, seed));
+			ParseTree expected = SyntacticAnalyser.parse(tokens);
+			FlatParseTree flat = FlatParseTree.parse(tokens);
+			assertSameTree(expected, flat.toParseTree());
+			assertEquals(expected.toString(), flat.toParseTree().toString());
+
+			//A cursor visits the nodes in the order they are numbered, down to every token in turn
+			FlatParseTree.Cursor cursor = flat.cursor();
+			int visited = 0;
+			int terminals = 0;
+			do {
+				assertEquals(visited++, cursor.getNode());
+				if (cursor.getLabel() == TreeNode.Label.terminal)
+					assertEquals(tokens.get(terminals++), cursor.getToken());
+				if (cursor.toFirstChild())
+					continue;
+				while (!cursor.toNextSibling())
+					if (!cursor.toParent())
+						break;
+			} while (cursor.getNode() != 0);
+			assertEquals(flat.size(), visited);
+			assertEquals(tokens.size(), terminals);
+		}
+		assertThrows(SyntaxException.class,
+				() -> FlatParseTree.parse(LexicalAnalyser.analyseToBuffer("public class T { x = 1; }")));
+	}
+
+	@Test
+	public void testTreeArraysAreTrimmed() throws LexicalException, SyntaxException {
+		//Both backends leave every child array exactly as long as the node's children
+		List<Token> tokens = LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(5000, 22));
+		for (SyntacticAnalyser.Backend backend : SyntacticAnalyser.Backend.values()) {
+			List<TreeNode> pending = new ArrayList<TreeNode>();
+			pending.add(SyntacticAnalyser.parse(tokens, backend).getRoot());
+			while (!pending.isEmpty()) {
+				TreeNode node = pending.remove(pending.size() - 1);
+				assertEquals(node.childCount(), node.childCapacity(), backend + " left " + node + " untrimmed");
+				for (int i = 0; i < node.childCount(); i++)
+					pending.add(node.childAt(i));
+			}
+		}
+
+		//Leaves hold no child array, and the children view changes the node
+		TreeNode leaf = new TreeNode(TreeNode.Label.terminal, Token.of(Token.TokenType.SEMICOLON), null);
+		assertEquals(0, leaf.getChildren().size());
+		assertEquals(0, leaf.childCapacity());
+		assertEquals("[terminal, Optional[[SEMICOLON]]]", leaf.toString());
+		TreeNode node = new TreeNode(TreeNode.Label.los, null);
+		node.addChild(leaf);
+		node.getChildren().add(0, new TreeNode(TreeNode.Label.epsilon, node));
+		assertEquals(TreeNode.Label.epsilon, node.getChildren().get(0).getLabel());
+		assertSame(leaf, node.getChildren().get(1));
+		assertSame(leaf, node.getChildren().remove(1));
+		assertEquals(1, node.getChildren().size());
+	}
+
+	@Test
+	public void testTreeFootprint() throws LexicalException, SyntaxException {
+		//The heap a finished tree keeps, worked out from how HotSpot lays objects out with compressed
+		//references: each node's size from TreeNode's own fields, and each child array's from its
+		//length. The tokens came ready-made and are not counted. It is 46 bytes a node, so one more
+		//field in TreeNode, which costs 8 bytes a node, takes it over the limit.
+		long nodeBytes = instanceBytes(TreeNode.class);
+		List<Token> tokens = LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(5000, 22));
+		for (SyntacticAnalyser.Backend backend : SyntacticAnalyser.Backend.values()) {
+			List<TreeNode> pending = new ArrayList<TreeNode>();
+			pending.add(SyntacticAnalyser.parse(tokens, backend).getRoot());
+			long nodes = 0;
+			long bytes = 0;
+			while (!pending.isEmpty()) {
+				TreeNode node = pending.remove(pending.size() - 1);
+				nodes++;
+				bytes += nodeBytes;
+				if (node.childCapacity() > 0)
+					bytes += align(16 + 4 * node.childCapacity());
+				for (int i = 0; i < node.childCount(); i++)
+					pending.add(node.childAt(i));
+			}
+			double perNode = (double) bytes / nodes;
+			assertTrue(perNode < 48, backend + " keeps " + perNode + " bytes a node");
+		}
+	}
+
+	//A 12 byte header and the instance fields, with references taking 4 bytes
+	private static long instanceBytes(Class<?> type) {
+		long bytes = 12;
+		for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()))
+					continue;
+				Class<?> t = field.getType();
+				if (t == long.class || t == double.class)
+					bytes += 8;
+				else if (t == short.class || t == char.class)
+					bytes += 2;
+				else if (t == byte.class || t == boolean.class)
+					bytes += 1;
+				else
+					bytes += 4;
+			}
+		}
+		return align(bytes);
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) / 8 * 8;
+	}
+
+	@Test
+	public void testAstLowering() throws LexicalException, SyntaxException {
+		List<Token> tokens = LexicalAnalyser.analyse("public class Calc { public static void "
+				+ "main(String[] args) { int x = 3 + 2 * 5; char c = 'q'; boolean b; b = x == 4 == true && b; ; "
+				+ "while (x == 0) { x = x - 1; } for (int i = 0; i == 9; i + 1) { System.out.println(\"hi\"); } "
+				+ "for (; x == 1;) { } if (x == 1) { x = 2; } else if (x == 3) { } else { x = (x + 1) % 2; } } }");
+		String expected = "public class Calc { public static void main(String[] args) { int x = (3 + (2 * 5)); "
+				+ "char c = 'q'; boolean b; b = (((x == 4) == true) && b); while ((x == 0)) { x = (x - 1); } "
+				+ "for (int i = 0; (i == 9); (i + 1)) { System.out.println(\"hi\"); } for (; (x == 1); ) {} "
+				+ "if ((x == 1)) { x = 2; } else if ((x == 3)) {} else { x = ((x + 1) % 2); } } }";
+		Ast.Program program = AstBuilder.parse(tokens);
+		assertEquals(expected, program.toString());
+		assertEquals(expected, AstBuilder.lower(SyntacticAnalyser.parse(tokens)).toString());
+		assertEquals("Calc", program.getName());
+		assertEquals(8, program.getBody().size());
+		Ast.BinaryOp sum = (Ast.BinaryOp) ((Ast.Decl) program.getBody().get(0)).getValue();
+		assertEquals(Token.TokenType.PLUS, sum.getOperator());
+		assertEquals("5", ((Ast.Literal) ((Ast.BinaryOp) sum.getRight()).getRight()).getValue());
+		Ast.If branches = (Ast.If) program.getBody().get(7);
+		assertEquals(3, branches.size());
+		assertEquals(null, branches.getCondition(2));
+
+		//Built during the parse or lowered afterwards, from either kind of tree, the result is the same
+		for (long seed = 0; seed < 5; seed++) {
+			TokenBuffer generated = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(200, seed));
+			String direct = AstBuilder.parse(generated).toString();
+			assertEquals(direct, AstBuilder.lower(SyntacticAnalyser.parse(generated)).toString());
+			assertEquals(direct, AstBuilder.lower(FlatParseTree.parse(generated).toParseTree()).toString());
+		}
+		assertThrows(SyntaxException.class,
+				() -> AstBuilder.parse(LexicalAnalyser.analyse("public class T { x = 1; }")));
+	}
+
+	@Test
+	public void testTreePrinting() throws LexicalException, SyntaxException, IOException {
+		for (long seed = 0; seed < 5; seed++) {
+			ParseTree tree = SyntacticAnalyser.parse(LexicalAnalyser.analyse(BenchmarkSupport.generateProgram(50, seed)));
+			String expected = stringify(tree.getRoot(), 0);
+			assertEquals(expected, tree.toString());
+			StringWriter out = new StringWriter();
+			tree.write(out);
+			assertEquals(expected, out.toString());
+		}
+		assertEquals("EMPTY TREE", new ParseTree().toString());
+
+		//Nesting is limited only by the size of the output, which grows with depth times nodes
+		int loops = 1000;
+		StringBuilder sb = new StringBuilder("public class T { public static void main(String[] args) { ");
+		for (int i = 0; i < loops; i++)
+			sb.append("while (true) { ");
+		for (int i = 0; i < loops; i++)
+			sb.append("} ");
+		String printed = SyntacticAnalyser.parse(LexicalAnalyser.analyse(sb.append("} }").toString())).toString();
+		assertTrue(printed.contains("\n" + "| ".repeat(3 * loops - 1) + "|-[whilestat, Optional.empty]\n"));
+	}
+
+	//The format as ParseTree.toString first wrote it, recursively
+	private static String stringify(TreeNode current, int depth) {
+		StringBuilder sb = new StringBuilder(current.toString()).append('\n');
+		for (TreeNode child : current.getChildren())
+			sb.append("| ".repeat(depth)).append("|-").append(stringify(child, depth + 1));
+		return sb.toString();
+	}
+
+	@Test
+	public void testBinaryTreeRoundTrip() throws LexicalException, SyntaxException, IOException {
+		List<ParseTree> trees = new ArrayList<ParseTree>();
+		for (long seed = 0; seed < 5; seed++)
+			trees.add(SyntacticAnalyser.parse(LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(300, seed))));
+		//Deep enough that reading must not recurse
+		StringBuilder sb = new StringBuilder("public class T { public static void main(String[] args) { x = ");
+		for (int i = 0; i < 20_000; i++)
+			sb.append('(');
+		sb.append('1');
+		for (int i = 0; i < 20_000; i++)
+			sb.append(" + 1)");
+		trees.add(SyntacticAnalyser.parse(LexicalAnalyser.analyse(sb.append("; char c = 'q'; } }").toString())));
+		//Reused subtrees and all
+		String source = BenchmarkSupport.generateProgram(300, 0);
+		TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(source);
+		trees.add(IncrementalParser.reparse(SyntacticAnalyser.parse(tokens),
+				IncrementalLexer.relex(tokens, source.indexOf("args) {") + 7, 0, " x = 1;")));
+		trees.add(new ParseTree());
+
+		for (ParseTree tree : trees) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BinaryParseTree.write(tree, out);
+			ParseTree read = BinaryParseTree.read(ByteBuffer.wrap(out.toByteArray()));
+			if (tree.getRoot() == null)
+				assertEquals(null, read.getRoot());
+			else
+				assertSameTree(tree, read);
+		}
+
+		//Read from a mapped file, and each identifier, number and literal is stored once
+		Path file = Files.createTempFile("tree", ".bin");
+		try {
+			try (OutputStream out = Files.newOutputStream(file)) {
+				BinaryParseTree.write(trees.get(1), out);
+			}
+			ParseTree read = BinaryParseTree.read(file);
+			assertEquals(trees.get(1).toString(), read.toString());
+			assertTrue(Files.size(file) * 40 < read.toString().length());
+		} finally {
+			Files.delete(file);
+		}
+		IOException e = assertThrows(IOException.class,
+				() -> BinaryParseTree.read(ByteBuffer.wrap(new byte[] { 'P', 'T', 'R', 'B', 2 })));
+		assertEquals("Unsupported binary parse tree version 2", e.getMessage());
+		assertThrows(IOException.class, () -> BinaryParseTree.read(ByteBuffer.wrap(new byte[8])));
+	}
+
+	@Test
+	public void testLineAndColumnOfTokens() throws LexicalException {
+		TokenBuffer tokens = LexicalAnalyser.analyseToBuffer("a\n\n  b c\r\nd");
+		assertEquals(1, tokens.getLine(0));
+		assertEquals(1, tokens.getColumn(0));
+		assertEquals(3, tokens.getLine(1));
+		assertEquals(3, tokens.getColumn(1));
+		assertEquals(5, tokens.getColumn(2));
+		assertEquals(4, tokens.getLine(3));
+		assertEquals(1, tokens.getColumn(3));
+	}
+
+	@Test
+	public void testDeepNestingMatchesLegacy() throws LexicalException {
+		//Deep enough to go past DescentParser.MAX_DEPTH, and deep enough to overflow the thread's stack
+		//without the fallback
+		for (int depth : new int[] { 400, 50_000 }) {
+			StringBuilder sb = new StringBuilder("public class T { public static void main(String[] args) { x = ");
+			for (int i = 0; i < depth; i++)
+				sb.append('(');
+			sb.append('1');
+			for (int i = 0; i < depth; i++)
+				sb.append(" + 1)");
+			sb.append("; while (true) { if (true) { } } } }");
+			assertSameAsLegacy(LexicalAnalyser.analyse(sb.toString()));
+		}
+	}
+
+	@Test
+	public void testDescentParserIsUpToDate() throws IOException {
+		String generated = DescentParserGenerator.generate(Grammar.parse(ParseTable.GRAMMAR),
+				DescentParserGenerator.CLASS_NAME);
+		String checkedIn = new String(
+				Files.readAllBytes(Paths.get(DescentParserGenerator.CLASS_NAME + ".java")), "UTF-8");
+		assertEquals(generated, checkedIn.replace("\r\n", "\n"));
+	}
+
+	@Test
+	public void testGrammarSetsAndConflicts() {
+		//Without its %table lines the SimpleJava grammar is LL(1) on its own, and relational
+		//operators after a term end it
+		String grammar = ParseTable.GRAMMAR.substring(0, ParseTable.GRAMMAR.indexOf("%table"));
+		Grammar simpleJava = Grammar.parse(grammar);
+		assertTrue(simpleJava.conflicts().isEmpty());
+		assertTrue(simpleJava.isNullable(TreeNode.Label.termprime));
+		assertTrue(simpleJava.follow(TreeNode.Label.termprime).contains(Token.TokenType.LT));
+		assertEquals(ParseTable.EPSILON,
+				simpleJava.table()[TreeNode.Label.termprime.ordinal()][Token.TokenType.LT.ordinal()]);
+		assertEquals(ParseTable.BY_VALUE,
+				simpleJava.table()[TreeNode.Label.type.ordinal()][Token.TokenType.TYPE.ordinal()]);
+
+		Grammar ambiguous = Grammar.parse("prog -> stat\nstat -> ID | ID SEMICOLON");
+		assertEquals(1, ambiguous.conflicts().size());
+		assertTrue(ambiguous.conflicts().get(0).startsWith("stat on ID:"));
+		assertThrows(IllegalArgumentException.class, () -> ambiguous.table());
+		assertTrue(Grammar.parse("prog -> stat\nstat -> ID | ID SEMICOLON\n%table stat ID : ID").conflicts().isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> Grammar.parse("prog -> stat"));
+	}
+
+	//Same tree, down to each node's parent, or the same exception with the same message
+	static void assertSameAsLegacy(List<Token> tokens) {
+		ParseTree expected;
+		try {
+			expected = LegacySyntacticAnalyser.parse(tokens);
+		} catch (Exception e) {
+			Diagnostic validation = SyntacticAnalyser.validate(tokens);
+			assertNotNull(validation, "validated " + tokens);
+			if (e instanceof SyntaxException) {
+				assertEquals(e.getMessage(), validation.getMessage(), "validation message for " + tokens);
+				assertEquals(((SyntaxException) e).getTokenIndex(), validation.getTokenIndex());
+				Diagnostic first = SyntacticAnalyser.parseWithRecovery(tokens).getDiagnostics().get(0);
+				assertEquals(e.getMessage(), first.getMessage(), "first recovered error for " + tokens);
+				ParseResult result = SyntacticAnalyser.tryParse(tokens);
+				assertEquals(null, result.getTree());
+				assertEquals(e.getMessage(), result.getDiagnostics().get(0).getMessage());
+			}
+			for (SyntacticAnalyser.Backend backend : SyntacticAnalyser.Backend.values()) {
+				Exception actual = assertThrows(Exception.class, () -> SyntacticAnalyser.parse(tokens, backend));
+				assertEquals(e.getClass(), actual.getClass(), backend + " exception for " + tokens);
+				assertEquals(e.getMessage(), actual.getMessage(), backend + " message for " + tokens);
+			}
+			return;
+		}
+		assertNull(SyntacticAnalyser.validate(tokens), "validation of " + tokens);
+		ParseResult recovered = SyntacticAnalyser.parseWithRecovery(tokens);
+		assertTrue(!recovered.hasErrors(), "errors recovering from " + tokens);
+		assertSameTree(expected, recovered.getTree());
+		assertSameTree(expected, SyntacticAnalyser.tryParse(tokens).getTree());
+		for (SyntacticAnalyser.Backend backend : SyntacticAnalyser.Backend.values()) {
+			try {
+				assertSameTree(expected, SyntacticAnalyser.parse(tokens, backend));
+			} catch (Exception e) {
+				fail("Unexpected " + e + " from " + backend + " for " + tokens);
+			}
+		}
+	}
+
+	//Walks both trees side by side with a stack of its own, so deep trees can be compared
+	static void assertSameTree(ParseTree expected, ParseTree actual) {
+		Map<TreeNode, TreeNode> matching = new IdentityHashMap<TreeNode, TreeNode>();
+		matching.put(null, null);
+		List<TreeNode> pending = new ArrayList<TreeNode>();
+		pending.add(expected.getRoot());
+		pending.add(actual.getRoot());
+		while (!pending.isEmpty()) {
+			TreeNode other = pending.remove(pending.size() - 1);
+			TreeNode node = pending.remove(pending.size() - 1);
+			matching.put(node, other);
+			assertEquals(node.getLabel(), other.getLabel());
+			assertEquals(node.getToken(), other.getToken());
+			assertEquals(node.getChildren().size(), other.getChildren().size(), "children of " + node);
+			for (int i = node.getChildren().size() - 1; i >= 0; i--) {
+				pending.add(node.getChildren().get(i));
+				pending.add(other.getChildren().get(i));
+			}
+		}
+		for (Map.Entry<TreeNode, TreeNode> pair : matching.entrySet())
+			if (pair.getKey() != null)
+				assertSame(matching.get(pair.getKey().getParent()), pair.getValue().getParent(),
+						"parent of " + pair.getKey());
+	}
+
+}
@@ -0,0 +1,52 @@
+//Bytes allocated per token by lexing, with and without looking up every token's line and column,
+//and by reporting a syntax error with and without its position. Positions come from the start
+//offsets TokenBuffer already keeps plus a table with one int per line, so asking for them should
+//add next to nothing per token.
+//Usage: java PositionBenchmark [statements] [runs]
+public class PositionBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		String source = BenchmarkSupport.generateProgram(statements, 90210);
+		int tokens = LexicalAnalyser.analyseToBuffer(source).size();
+		//Cut the closing braces off so the parser fails at the very end, having done all its work
+		String broken = source.substring(0, source.lastIndexOf('}', source.lastIndexOf('}') - 1));
+
+		double list = BenchmarkSupport.bytesPerRun(runs, () -> LexicalAnalyser.analyse(source));
+		double buffer = BenchmarkSupport.bytesPerRun(runs, () -> LexicalAnalyser.analyseToBuffer(source));
+		double positions = BenchmarkSupport.bytesPerRun(runs, () -> {
+			TokenBuffer buffered = LexicalAnalyser.analyseToBuffer(source);
+			long sum = 0;
+			for (int i = 0; i < buffered.size(); i++)
+				sum += buffered.getLine(i) + buffered.getColumn(i);
+			if (sum == 0)
+				throw new IllegalStateException();
+		});
+		double listError = BenchmarkSupport.bytesPerRun(runs, () -> {
+			try {
+				SyntacticAnalyser.parse(LexicalAnalyser.analyse(broken));
+			} catch (SyntaxException e) {
+				return;
+			}
+			throw new IllegalStateException("Expected a syntax error");
+		});
+		double bufferError = BenchmarkSupport.bytesPerRun(runs, () -> {
+			try {
+				SyntacticAnalyser.parse(LexicalAnalyser.analyseToBuffer(broken));
+			} catch (SyntaxException e) {
+				if (e.getLine() > 0)
+					return;
+			}
+			throw new IllegalStateException("Expected a syntax error with a position");
+		});
+
+		System.out.printf("%d tokens, %d lines%n", tokens, source.split("\n").length);
+		System.out.printf("%-38s %8.1f bytes/token%n", "lex to List<Token>", list / tokens);
+		System.out.printf("%-38s %8.1f bytes/token%n", "lex to TokenBuffer", buffer / tokens);
+		System.out.printf("%-38s %8.1f bytes/token%n", "lex to TokenBuffer, every position", positions / tokens);
+		System.out.printf("%-38s %8.1f bytes/token%n", "parse List<Token>, error", listError / tokens);
+		System.out.printf("%-38s %8.1f bytes/token%n", "parse TokenBuffer, error with position", bufferError / tokens);
+	}
+
+}
@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//Rejection throughput, for the parser and for the lexer, through both the throwing methods and
+//the ones that report a Diagnostic instead. The parser is given generated programs with a token
+//dropped, doubled or swapped, handled by SyntacticAnalyser.parse, tryParse and validate. The lexer
+//is given generated sources with a malformed lexeme put in, handled by
+//LexicalAnalyser.analyseToBuffer and tryAnalyse. Reports inputs handled per second by each.
+//Usage: java RejectionBenchmark [inputs] [millisPerMeasurement]
+public class RejectionBenchmark {
+
+	private static final String[] MALFORMED = { " # ", " 'ab' ", " \"two words\" ", " ' ", " @x " };
+
+	public static void main(String[] args) throws Exception {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+		Random random = new Random(count);
+		List<List<Token>> inputs = new ArrayList<List<Token>>();
+		List<String> sources = new ArrayList<String>();
+		int rejected = 0;
+		int lexicallyRejected = 0;
+		for (int n = 0; n < count; n++) {
+			String source = BenchmarkSupport.generateProgram(1 + random.nextInt(20), n);
+			List<Token> tokens = new ArrayList<Token>(LexicalAnalyser.analyse(source));
+			int at = random.nextInt(tokens.size());
+			switch (random.nextInt(3)) {
+			case 0:
+				tokens.remove(at);
+				break;
+			case 1:
+				tokens.add(at, tokens.get(at));
+				break;
+			default:
+				tokens.set(at, tokens.get(random.nextInt(tokens.size())));
+				break;
+			}
+			inputs.add(tokens);
+			if (SyntacticAnalyser.tryParse(tokens).hasErrors())
+				rejected++;
+
+			//Put in at a space, so the lexemes around it are left as they were
+			int space = source.indexOf(' ', random.nextInt(source.length()));
+			if (space < 0)
+				space = source.indexOf(' ');
+			String broken = source.substring(0, space) + MALFORMED[random.nextInt(MALFORMED.length)]
+					+ source.substring(space + 1);
+			sources.add(broken);
+			if (LexicalAnalyser.tryAnalyse(new TokenBuffer(broken)) != null)
+				lexicallyRejected++;
+		}
+
+		double throwing = BenchmarkSupport.nanosPerRun(() -> {
+			for (List<Token> tokens : inputs) {
+				try {
+					SyntacticAnalyser.parse(tokens);
+				} catch (SyntaxException | RuntimeException e) {
+					//Rejected
+				}
+			}
+		}, millis);
+		double result = BenchmarkSupport.nanosPerRun(() -> {
+			for (List<Token> tokens : inputs)
+				SyntacticAnalyser.tryParse(tokens);
+		}, millis);
+		double validating = BenchmarkSupport.nanosPerRun(() -> {
+			for (List<Token> tokens : inputs)
+				SyntacticAnalyser.validate(tokens);
+		}, millis);
+		double lexThrowing = BenchmarkSupport.nanosPerRun(() -> {
+			for (String source : sources) {
+				try {
+					LexicalAnalyser.analyseToBuffer(source);
+				} catch (LexicalException e) {
+					//Rejected
+				}
+			}
+		}, millis);
+		double lexResult = BenchmarkSupport.nanosPerRun(() -> {
+			for (String source : sources)
+				LexicalAnalyser.tryAnalyse(new TokenBuffer(source));
+		}, millis);
+		System.out.printf("%d token lists, %d rejected%n", count, rejected);
+		System.out.printf("%-16s %14.0f inputs/s%n", "parse", count * 1e9 / throwing);
+		System.out.printf("%-16s %14.0f inputs/s%n", "tryParse", count * 1e9 / result);
+		System.out.printf("%-16s %14.0f inputs/s%n", "validate", count * 1e9 / validating);
+		System.out.printf("%d sources, %d rejected%n", count, lexicallyRejected);
+		System.out.printf("%-16s %14.0f inputs/s%n", "analyseToBuffer", count * 1e9 / lexThrowing);
+		System.out.printf("%-16s %14.0f inputs/s%n", "tryAnalyse", count * 1e9 / lexResult);
+	}
+
+}
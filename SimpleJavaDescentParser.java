@@ -0,0 +1,909 @@
+import java.util.List;
+
+//Generated by DescentParserGenerator from ParseTable.GRAMMAR; do not edit.
+class SimpleJavaDescentParser extends DescentParser {
+
+	SimpleJavaDescentParser(List<Token> tokens) {
+		super(tokens);
+	}
+
+	@Override
+	void prog(TreeNode parent) throws SyntaxException {
+		Token token = next();
+		switch (token.getType()) {
+		case PUBLIC:
+			match(Token.TokenType.PUBLIC, parent);
+			match(Token.TokenType.CLASS, parent);
+			match(Token.TokenType.ID, parent);
+			match(Token.TokenType.LBRACE, parent);
+			match(Token.TokenType.PUBLIC, parent);
+			match(Token.TokenType.STATIC, parent);
+			match(Token.TokenType.VOID, parent);
+			match(Token.TokenType.MAIN, parent);
+			match(Token.TokenType.LPAREN, parent);
+			match(Token.TokenType.STRINGARR, parent);
+			match(Token.TokenType.ARGS, parent);
+			match(Token.TokenType.RPAREN, parent);
+			match(Token.TokenType.LBRACE, parent);
+			los(parent);
+			match(Token.TokenType.RBRACE, parent);
+			match(Token.TokenType.RBRACE, parent);
+			break;
+		default:
+			throw unexpected(TreeNode.Label.prog, token);
+		}
+	}
+
+	private void los(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.los, parent);
+			return;
+		}
+		depth++;
+		while (true) {
+			Token token = next();
+			switch (token.getType()) {
+			case RBRACE:
+				empty(TreeNode.Label.los, parent);
+				break;
+			case SEMICOLON:
+			case TYPE:
+			case PRINT:
+			case WHILE:
+			case FOR:
+			case IF:
+			case ID: {
+				TreeNode node = enter(TreeNode.Label.los, parent);
+				stat(node);
+				parent = node;
+				continue;
+			}
+			default:
+				throw unexpected(TreeNode.Label.los, token);
+			}
+			break;
+		}
+		depth--;
+	}
+
+	private void stat(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.stat, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case SEMICOLON: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			match(Token.TokenType.SEMICOLON, node);
+			break;
+		}
+		case TYPE: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			decl(node);
+			match(Token.TokenType.SEMICOLON, node);
+			break;
+		}
+		case PRINT: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			print(node);
+			match(Token.TokenType.SEMICOLON, node);
+			break;
+		}
+		case WHILE: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			whilestat(node);
+			break;
+		}
+		case FOR: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			forstat(node);
+			break;
+		}
+		case IF: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			ifstat(node);
+			break;
+		}
+		case ID: {
+			TreeNode node = enter(TreeNode.Label.stat, parent);
+			assign(node);
+			match(Token.TokenType.SEMICOLON, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.stat, token);
+		}
+		depth--;
+	}
+
+	private void whilestat(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.whilestat, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case WHILE: {
+			TreeNode node = enter(TreeNode.Label.whilestat, parent);
+			match(Token.TokenType.WHILE, node);
+			match(Token.TokenType.LPAREN, node);
+			relexpr(node);
+			boolexpr(node);
+			match(Token.TokenType.RPAREN, node);
+			match(Token.TokenType.LBRACE, node);
+			los(node);
+			match(Token.TokenType.RBRACE, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.whilestat, token);
+		}
+		depth--;
+	}
+
+	private void forstat(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.forstat, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case FOR: {
+			TreeNode node = enter(TreeNode.Label.forstat, parent);
+			match(Token.TokenType.FOR, node);
+			match(Token.TokenType.LPAREN, node);
+			forstart(node);
+			match(Token.TokenType.SEMICOLON, node);
+			relexpr(node);
+			boolexpr(node);
+			match(Token.TokenType.SEMICOLON, node);
+			forarith(node);
+			match(Token.TokenType.RPAREN, node);
+			match(Token.TokenType.LBRACE, node);
+			los(node);
+			match(Token.TokenType.RBRACE, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.forstat, token);
+		}
+		depth--;
+	}
+
+	private void forstart(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.forstart, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case SEMICOLON:
+			empty(TreeNode.Label.forstart, parent);
+			break;
+		case TYPE: {
+			TreeNode node = enter(TreeNode.Label.forstart, parent);
+			decl(node);
+			break;
+		}
+		case ID: {
+			TreeNode node = enter(TreeNode.Label.forstart, parent);
+			assign(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.forstart, token);
+		}
+		depth--;
+	}
+
+	private void forarith(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.forarith, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN:
+		case ID: {
+			TreeNode node = enter(TreeNode.Label.forarith, parent);
+			arithexpr(node);
+			break;
+		}
+		case RPAREN:
+			empty(TreeNode.Label.forarith, parent);
+			break;
+		default:
+			throw unexpected(TreeNode.Label.forarith, token);
+		}
+		depth--;
+	}
+
+	private void ifstat(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.ifstat, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case IF: {
+			TreeNode node = enter(TreeNode.Label.ifstat, parent);
+			match(Token.TokenType.IF, node);
+			match(Token.TokenType.LPAREN, node);
+			relexpr(node);
+			boolexpr(node);
+			match(Token.TokenType.RPAREN, node);
+			match(Token.TokenType.LBRACE, node);
+			los(node);
+			match(Token.TokenType.RBRACE, node);
+			elseifstat(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.ifstat, token);
+		}
+		depth--;
+	}
+
+	private void elseifstat(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.elseifstat, parent);
+			return;
+		}
+		depth++;
+		while (true) {
+			Token token = next();
+			switch (token.getType()) {
+			case RBRACE:
+			case SEMICOLON:
+			case TYPE:
+			case PRINT:
+			case WHILE:
+			case FOR:
+			case IF:
+			case ID:
+				empty(TreeNode.Label.elseifstat, parent);
+				break;
+			case ELSE: {
+				TreeNode node = enter(TreeNode.Label.elseifstat, parent);
+				elseorelseif(node);
+				match(Token.TokenType.LBRACE, node);
+				los(node);
+				match(Token.TokenType.RBRACE, node);
+				parent = node;
+				continue;
+			}
+			default:
+				throw unexpected(TreeNode.Label.elseifstat, token);
+			}
+			break;
+		}
+		depth--;
+	}
+
+	private void elseorelseif(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.elseorelseif, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case ELSE: {
+			TreeNode node = enter(TreeNode.Label.elseorelseif, parent);
+			match(Token.TokenType.ELSE, node);
+			possif(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.elseorelseif, token);
+		}
+		depth--;
+	}
+
+	private void possif(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.possif, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LBRACE:
+			empty(TreeNode.Label.possif, parent);
+			break;
+		case IF: {
+			TreeNode node = enter(TreeNode.Label.possif, parent);
+			match(Token.TokenType.IF, node);
+			match(Token.TokenType.LPAREN, node);
+			relexpr(node);
+			boolexpr(node);
+			match(Token.TokenType.RPAREN, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.possif, token);
+		}
+		depth--;
+	}
+
+	private void assign(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.assign, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case ID: {
+			TreeNode node = enter(TreeNode.Label.assign, parent);
+			match(Token.TokenType.ID, node);
+			match(Token.TokenType.ASSIGN, node);
+			expr(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.assign, token);
+		}
+		depth--;
+	}
+
+	private void decl(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.decl, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case TYPE: {
+			TreeNode node = enter(TreeNode.Label.decl, parent);
+			type(node);
+			match(Token.TokenType.ID, node);
+			possassign(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.decl, token);
+		}
+		depth--;
+	}
+
+	private void possassign(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.possassign, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case ASSIGN: {
+			TreeNode node = enter(TreeNode.Label.possassign, parent);
+			match(Token.TokenType.ASSIGN, node);
+			expr(node);
+			break;
+		}
+		case SEMICOLON:
+			empty(TreeNode.Label.possassign, parent);
+			break;
+		default:
+			throw unexpected(TreeNode.Label.possassign, token);
+		}
+		depth--;
+	}
+
+	private void print(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.print, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case PRINT: {
+			TreeNode node = enter(TreeNode.Label.print, parent);
+			match(Token.TokenType.PRINT, node);
+			match(Token.TokenType.LPAREN, node);
+			printexpr(node);
+			match(Token.TokenType.RPAREN, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.print, token);
+		}
+		depth--;
+	}
+
+	private void type(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.type, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case TYPE:
+			switch (token.getValue().get()) {
+			case "int": {
+				TreeNode node = enter(TreeNode.Label.type, parent);
+				match(Token.TokenType.TYPE, node);
+				break;
+			}
+			case "boolean": {
+				TreeNode node = enter(TreeNode.Label.type, parent);
+				match(Token.TokenType.TYPE, node);
+				break;
+			}
+			case "char": {
+				TreeNode node = enter(TreeNode.Label.type, parent);
+				match(Token.TokenType.TYPE, node);
+				break;
+			}
+			default:
+				throw unexpected(TreeNode.Label.type, token);
+			}
+			break;
+		default:
+			throw unexpected(TreeNode.Label.type, token);
+		}
+		depth--;
+	}
+
+	private void expr(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.expr, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN:
+		case ID:
+		case NUM:
+		case TRUE:
+		case FALSE: {
+			TreeNode node = enter(TreeNode.Label.expr, parent);
+			relexpr(node);
+			boolexpr(node);
+			break;
+		}
+		case SQUOTE: {
+			TreeNode node = enter(TreeNode.Label.expr, parent);
+			charexpr(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.expr, token);
+		}
+		depth--;
+	}
+
+	private void charexpr(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.charexpr, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case SQUOTE: {
+			TreeNode node = enter(TreeNode.Label.charexpr, parent);
+			match(Token.TokenType.SQUOTE, node);
+			match(Token.TokenType.CHARLIT, node);
+			match(Token.TokenType.SQUOTE, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.charexpr, token);
+		}
+		depth--;
+	}
+
+	private void boolexpr(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.boolexpr, parent);
+			return;
+		}
+		depth++;
+		while (true) {
+			Token token = next();
+			switch (token.getType()) {
+			case EQUAL:
+			case NEQUAL:
+			case AND:
+			case OR: {
+				TreeNode node = enter(TreeNode.Label.boolexpr, parent);
+				boolop(node);
+				relexpr(node);
+				parent = node;
+				continue;
+			}
+			case RPAREN:
+			case SEMICOLON:
+				empty(TreeNode.Label.boolexpr, parent);
+				break;
+			default:
+				throw unexpected(TreeNode.Label.boolexpr, token);
+			}
+			break;
+		}
+		depth--;
+	}
+
+	private void boolop(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.boolop, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case EQUAL:
+		case NEQUAL: {
+			TreeNode node = enter(TreeNode.Label.boolop, parent);
+			booleq(node);
+			break;
+		}
+		case AND:
+		case OR: {
+			TreeNode node = enter(TreeNode.Label.boolop, parent);
+			boollog(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.boolop, token);
+		}
+		depth--;
+	}
+
+	private void booleq(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.booleq, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case EQUAL: {
+			TreeNode node = enter(TreeNode.Label.booleq, parent);
+			match(Token.TokenType.EQUAL, node);
+			break;
+		}
+		case NEQUAL: {
+			TreeNode node = enter(TreeNode.Label.booleq, parent);
+			match(Token.TokenType.NEQUAL, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.booleq, token);
+		}
+		depth--;
+	}
+
+	private void boollog(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.boollog, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case AND: {
+			TreeNode node = enter(TreeNode.Label.boollog, parent);
+			match(Token.TokenType.AND, node);
+			break;
+		}
+		case OR: {
+			TreeNode node = enter(TreeNode.Label.boollog, parent);
+			match(Token.TokenType.NEQUAL, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.boollog, token);
+		}
+		depth--;
+	}
+
+	private void relexpr(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.relexpr, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN:
+		case ID:
+		case NUM: {
+			TreeNode node = enter(TreeNode.Label.relexpr, parent);
+			arithexpr(node);
+			relexprprime(node);
+			break;
+		}
+		case TRUE: {
+			TreeNode node = enter(TreeNode.Label.relexpr, parent);
+			match(Token.TokenType.TRUE, node);
+			break;
+		}
+		case FALSE: {
+			TreeNode node = enter(TreeNode.Label.relexpr, parent);
+			match(Token.TokenType.FALSE, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.relexpr, token);
+		}
+		depth--;
+	}
+
+	private void relexprprime(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.relexprprime, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case EQUAL:
+		case NEQUAL:
+		case RPAREN:
+		case AND:
+		case OR:
+		case SEMICOLON:
+			empty(TreeNode.Label.relexprprime, parent);
+			break;
+		case LT:
+		case LE:
+		case GT:
+		case GE: {
+			TreeNode node = enter(TreeNode.Label.relexprprime, parent);
+			relop(node);
+			arithexpr(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.relexprprime, token);
+		}
+		depth--;
+	}
+
+	private void relop(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.relop, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LT: {
+			TreeNode node = enter(TreeNode.Label.relop, parent);
+			match(Token.TokenType.LT, node);
+			break;
+		}
+		case LE: {
+			TreeNode node = enter(TreeNode.Label.relop, parent);
+			match(Token.TokenType.LE, node);
+			break;
+		}
+		case GT: {
+			TreeNode node = enter(TreeNode.Label.relop, parent);
+			match(Token.TokenType.GT, node);
+			break;
+		}
+		case GE: {
+			TreeNode node = enter(TreeNode.Label.relop, parent);
+			match(Token.TokenType.GE, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.relop, token);
+		}
+		depth--;
+	}
+
+	private void arithexpr(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.arithexpr, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN:
+		case ID:
+		case NUM: {
+			TreeNode node = enter(TreeNode.Label.arithexpr, parent);
+			term(node);
+			arithexprprime(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.arithexpr, token);
+		}
+		depth--;
+	}
+
+	private void arithexprprime(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.arithexprprime, parent);
+			return;
+		}
+		depth++;
+		while (true) {
+			Token token = next();
+			switch (token.getType()) {
+			case PLUS: {
+				TreeNode node = enter(TreeNode.Label.arithexprprime, parent);
+				match(Token.TokenType.PLUS, node);
+				term(node);
+				parent = node;
+				continue;
+			}
+			case MINUS: {
+				TreeNode node = enter(TreeNode.Label.arithexprprime, parent);
+				match(Token.TokenType.MINUS, node);
+				term(node);
+				parent = node;
+				continue;
+			}
+			case EQUAL:
+			case NEQUAL:
+			case LT:
+			case LE:
+			case GT:
+			case GE:
+			case RPAREN:
+			case AND:
+			case OR:
+			case SEMICOLON:
+			case ID:
+			case NUM:
+				empty(TreeNode.Label.arithexprprime, parent);
+				break;
+			default:
+				throw unexpected(TreeNode.Label.arithexprprime, token);
+			}
+			break;
+		}
+		depth--;
+	}
+
+	private void term(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.term, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN:
+		case ID:
+		case NUM: {
+			TreeNode node = enter(TreeNode.Label.term, parent);
+			factor(node);
+			termprime(node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.term, token);
+		}
+		depth--;
+	}
+
+	private void termprime(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.termprime, parent);
+			return;
+		}
+		depth++;
+		while (true) {
+			Token token = next();
+			switch (token.getType()) {
+			case PLUS:
+			case MINUS:
+			case EQUAL:
+			case NEQUAL:
+			case RPAREN:
+			case AND:
+			case OR:
+			case SEMICOLON:
+				empty(TreeNode.Label.termprime, parent);
+				break;
+			case TIMES: {
+				TreeNode node = enter(TreeNode.Label.termprime, parent);
+				match(Token.TokenType.TIMES, node);
+				factor(node);
+				parent = node;
+				continue;
+			}
+			case DIVIDE: {
+				TreeNode node = enter(TreeNode.Label.termprime, parent);
+				match(Token.TokenType.DIVIDE, node);
+				factor(node);
+				parent = node;
+				continue;
+			}
+			case MOD: {
+				TreeNode node = enter(TreeNode.Label.termprime, parent);
+				match(Token.TokenType.MOD, node);
+				factor(node);
+				parent = node;
+				continue;
+			}
+			default:
+				throw unexpected(TreeNode.Label.termprime, token);
+			}
+			break;
+		}
+		depth--;
+	}
+
+	private void factor(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.factor, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN: {
+			TreeNode node = enter(TreeNode.Label.factor, parent);
+			match(Token.TokenType.LPAREN, node);
+			arithexpr(node);
+			match(Token.TokenType.RPAREN, node);
+			break;
+		}
+		case ID: {
+			TreeNode node = enter(TreeNode.Label.factor, parent);
+			match(Token.TokenType.ID, node);
+			break;
+		}
+		case NUM: {
+			TreeNode node = enter(TreeNode.Label.factor, parent);
+			match(Token.TokenType.NUM, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.factor, token);
+		}
+		depth--;
+	}
+
+	private void printexpr(TreeNode parent) throws SyntaxException {
+		if (depth == MAX_DEPTH) {
+			expand(TreeNode.Label.printexpr, parent);
+			return;
+		}
+		depth++;
+		Token token = next();
+		switch (token.getType()) {
+		case LPAREN:
+		case ID:
+		case NUM:
+		case TRUE:
+		case FALSE: {
+			TreeNode node = enter(TreeNode.Label.printexpr, parent);
+			relexpr(node);
+			boolexpr(node);
+			break;
+		}
+		case DQUOTE: {
+			TreeNode node = enter(TreeNode.Label.printexpr, parent);
+			match(Token.TokenType.DQUOTE, node);
+			match(Token.TokenType.STRINGLIT, node);
+			match(Token.TokenType.DQUOTE, node);
+			break;
+		}
+		default:
+			throw unexpected(TreeNode.Label.printexpr, token);
+		}
+		depth--;
+	}
+
+}
@@ -1,8 +1,47 @@
-
 public class SyntaxException extends Exception {
 
+	private final int tokenIndex;
+	private final int offset;
+	private final int line;
+	private final int column;
+
 	public SyntaxException(String message) {
+		this(message, -1);
+	}
+
+	//tokenIndex is the token the parser failed on, or the number of tokens if it ran out of them
+	public SyntaxException(String message, int tokenIndex) {
 		super(message);
+		this.tokenIndex = tokenIndex;
+		this.offset = -1;
+		this.line = -1;
+		this.column = -1;
+	}
+
+	public SyntaxException(String message, int tokenIndex, int offset, int line, int column) {
+		super(message + " (line " + line + ", column " + column + ")");
+		this.tokenIndex = tokenIndex;
+		this.offset = offset;
+		this.line = line;
+		this.column = column;
+	}
+
+	//Each of these is -1 when not known: the index needs the parser to have reached a token, the
+	//rest need the tokens to come from a TokenBuffer
+	public int getTokenIndex() {
+		return this.tokenIndex;
+	}
+
+	public int getOffset() {
+		return this.offset;
+	}
+
+	public int getLine() {
+		return this.line;
+	}
+
+	public int getColumn() {
+		return this.column;
 	}
 
 }
@@ -3,9 +3,26 @@ import java.util.Optional;
 public class Token {
 
 	public enum TokenType implements Symbol {
-		PLUS, MINUS, TIMES, DIVIDE, MOD, ASSIGN, EQUAL, NEQUAL, LT, LE, GT, GE, LPAREN, RPAREN, LBRACE, RBRACE, AND, OR,
-		SEMICOLON, PUBLIC, CLASS, STATIC, VOID, MAIN, STRINGARR, ARGS, TYPE, PRINT, WHILE, FOR, IF, ELSE, DQUOTE,
-		SQUOTE, ID, NUM, CHARLIT, TRUE, FALSE, STRINGLIT;
+		PLUS("+"), MINUS("-"), TIMES("*"), DIVIDE("/"), MOD("%"), ASSIGN("="), EQUAL("=="), NEQUAL("!="), LT("<"),
+		LE("<="), GT(">"), GE(">="), LPAREN("("), RPAREN(")"), LBRACE("{"), RBRACE("}"), AND("&&"), OR("||"),
+		SEMICOLON(";"), PUBLIC("public"), CLASS("class"), STATIC("static"), VOID("void"), MAIN("main"),
+		STRINGARR("String[]"), ARGS("args"), TYPE, PRINT("System.out.println"), WHILE("while"), FOR("for"), IF("if"),
+		ELSE("else"), DQUOTE, SQUOTE, ID, NUM, CHARLIT, TRUE("true"), FALSE("false"), STRINGLIT;
+
+		private final String spelling;
+
+		private TokenType() {
+			this.spelling = null;
+		}
+
+		private TokenType(String spelling) {
+			this.spelling = spelling;
+		}
+
+		//The one way a token of this type is written, or null if it varies or it has no value
+		public String getSpelling() {
+			return this.spelling;
+		}
 
 		@Override
 		public boolean isVariable() {
@@ -14,17 +31,49 @@ public class Token {
 
 	};
 
-	private TokenType type;
-	private Optional<String> value;
+	//Shared instances for the types that always look the same: the spelled types carrying their
+	//spelling as value, and the quotes carrying none
+	private static final Token[] FIXED = new Token[TokenType.values().length];
+
+	static {
+		for (TokenType type : TokenType.values()) {
+			if (type.getSpelling() != null)
+				FIXED[type.ordinal()] = new Token(type, type.getSpelling());
+			else if (type == TokenType.DQUOTE || type == TokenType.SQUOTE)
+				FIXED[type.ordinal()] = new Token(type);
+		}
+	}
+
+	private final TokenType type;
+	private final Optional<String> value;
+	private final int id;
 
 	public Token(TokenType type) {
 		this.type = type;
 		this.value = Optional.empty();
+		this.id = -1;
 	}
 
 	public Token(TokenType type, String value) {
+		this(type, value, -1);
+	}
+
+	Token(TokenType type, String value, int id) {
 		this.type = type;
 		this.value = Optional.of(value);
+		this.id = id;
+	}
+
+	//The shared token for a type that is always spelled the same way, or for a quote
+	public static Token of(TokenType type) {
+		Token token = FIXED[type.ordinal()];
+		if (token == null)
+			throw new IllegalArgumentException("Tokens of type " + type + " do not all look the same");
+		return token;
+	}
+
+	public static boolean isFixed(TokenType type) {
+		return FIXED[type.ordinal()] != null;
 	}
 
 	public Optional<String> getValue() {
@@ -34,6 +83,12 @@ public class Token {
 	public TokenType getType() {
 		return this.type;
 	}
+
+	//The id an IdentifierTable gave this token when interning it, or -1 if it was not interned.
+	//Interned tokens with equal ids from the same table are the same token.
+	public int getId() {
+		return this.id;
+	}
 	
 	@Override
 	public String toString() {
@@ -61,4 +116,10 @@ public class Token {
 		return t.value.equals(this.value);
 	}	
 
+	//Consistent with equals: the id is deliberately left out
+	@Override
+	public int hashCode() {
+		return 31 * type.ordinal() + (value == null ? 0 : value.hashCode());
+	}
+
 }
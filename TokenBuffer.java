@@ -0,0 +1,216 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+//Compact token list: one byte for the token type and two ints for where its text sits in the
+//source, instead of a Token, an Optional and a String per token. Values are only cut out of the
+//source when asked for. Tokens whose type never carries a value (the quotes) still record the
+//offsets of their quote character.
+//Tokens handed out are shared where possible: the fixed-spelling ones are Token.of singletons and
+//IDs and TYPEs are interned in the buffer's IdentifierTable.
+public class TokenBuffer {
+
+	private static final Token.TokenType[] TYPES = Token.TokenType.values();
+
+	private final String source;
+	private final IdentifierTable identifiers;
+	private byte[] types;
+	private int[] starts;
+	private int[] ends;
+	private int size;
+	//Offset of the first character of each line, built on first use
+	private volatile int[] lineStarts;
+
+	public TokenBuffer(String source) {
+		this(source, new IdentifierTable());
+	}
+
+	public TokenBuffer(String source, IdentifierTable identifiers) {
+		this(source, identifiers, Math.max(16, source.length() / 4));
+	}
+
+	public TokenBuffer(String source, IdentifierTable identifiers, int initialCapacity) {
+		this.source = source;
+		this.identifiers = identifiers;
+		this.types = new byte[initialCapacity];
+		this.starts = new int[initialCapacity];
+		this.ends = new int[initialCapacity];
+	}
+
+	public void add(Token.TokenType type, int start, int end) {
+		if (size == types.length) {
+			int capacity = Math.max(16, size + (size >> 1));
+			types = Arrays.copyOf(types, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+		}
+		types[size] = (byte) type.ordinal();
+		starts[size] = start;
+		ends[size] = end;
+		size++;
+	}
+
+	//Appends all of other's tokens; both buffers must be over the same source
+	public void append(TokenBuffer other) {
+		if (other.source != source)
+			throw new IllegalArgumentException("Token buffers are over different sources");
+		append(other, 0, other.size, 0);
+	}
+
+	//Appends other's tokens from index from to to, moving their offsets by shift, for copying
+	//tokens across from an earlier version of the source
+	void append(TokenBuffer other, int from, int to, int shift) {
+		int count = to - from;
+		if (size + count > types.length) {
+			int capacity = Math.max(size + count, size + (size >> 1));
+			types = Arrays.copyOf(types, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+		}
+		System.arraycopy(other.types, from, types, size, count);
+		System.arraycopy(other.starts, from, starts, size, count);
+		System.arraycopy(other.ends, from, ends, size, count);
+		if (shift != 0) {
+			for (int i = size; i < size + count; i++) {
+				starts[i] += shift;
+				ends[i] += shift;
+			}
+		}
+		size += count;
+	}
+
+	public String getSource() {
+		return this.source;
+	}
+
+	public IdentifierTable getIdentifiers() {
+		return this.identifiers;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public Token.TokenType getType(int index) {
+		return TYPES[typeOrdinal(index)];
+	}
+
+	public int typeOrdinal(int index) {
+		checkIndex(index);
+		return types[index];
+	}
+
+	public int getStart(int index) {
+		checkIndex(index);
+		return starts[index];
+	}
+
+	public int getEnd(int index) {
+		checkIndex(index);
+		return ends[index];
+	}
+
+	//Line and column, both from 1, of where the token starts. Only the start offset is stored per
+	//token; the line comes from a table of line starts, so positions cost nothing per token.
+	public int getLine(int index) {
+		return lineAt(getStart(index));
+	}
+
+	public int getColumn(int index) {
+		return columnAt(getStart(index));
+	}
+
+	//Line, from 1, of any offset into the source up to and including its length
+	public int lineAt(int offset) {
+		if (offset < 0 || offset > source.length())
+			throw new IndexOutOfBoundsException("Offset " + offset + " out of bounds for length " + source.length());
+		int[] lines = lineStarts();
+		int low = 0;
+		int high = lines.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lines[mid] <= offset)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low + 1;
+	}
+
+	public int columnAt(int offset) {
+		return offset - lineStarts()[lineAt(offset) - 1] + 1;
+	}
+
+	public Optional<String> getValue(int index) {
+		Token.TokenType type = getType(index);
+		if (Token.isFixed(type))
+			return Token.of(type).getValue();
+		return Optional.of(source.substring(starts[index], ends[index]));
+	}
+
+	//Compares the token's text with s without cutting it out of the source
+	public boolean valueEquals(int index, String s) {
+		int start = getStart(index);
+		return hasValue(getType(index)) && ends[index] - start == s.length()
+				&& source.regionMatches(start, s, 0, s.length());
+	}
+
+	public Token get(int index) {
+		Token.TokenType type = getType(index);
+		if (Token.isFixed(type))
+			return Token.of(type);
+		if (type == Token.TokenType.ID || type == Token.TokenType.TYPE)
+			return identifiers.intern(type, source, starts[index], ends[index]);
+		return new Token(type, source.substring(starts[index], ends[index]));
+	}
+
+	//A read-only List<Token> over the buffer for existing callers
+	public List<Token> asList() {
+		return new TokenList();
+	}
+
+	//Bytes held by the arrays, for comparing footprints
+	public long footprint() {
+		return (long) types.length + 4L * starts.length + 4L * ends.length;
+	}
+
+	private int[] lineStarts() {
+		int[] lines = lineStarts;
+		if (lines == null) {
+			int count = 1;
+			for (int i = source.indexOf('\n'); i >= 0; i = source.indexOf('\n', i + 1))
+				count++;
+			lines = new int[count];
+			for (int i = source.indexOf('\n'), line = 1; i >= 0; i = source.indexOf('\n', i + 1))
+				lines[line++] = i + 1;
+			lineStarts = lines;
+		}
+		return lines;
+	}
+
+	private static boolean hasValue(Token.TokenType type) {
+		return type != Token.TokenType.DQUOTE && type != Token.TokenType.SQUOTE;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+	}
+
+	private class TokenList extends AbstractList<Token> implements RandomAccess {
+
+		@Override
+		public Token get(int index) {
+			return TokenBuffer.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+//Compares List<Token> from LexicalAnalyser.analyse with the columnar TokenBuffer from
+//LexicalAnalyser.analyseToBuffer: retained heap per token, and time spent in GC while lexing a
+//batch of programs and keeping each result alive until the next one is done.
+//Usage: java TokenBufferBenchmark [statements] [batch]
+public class TokenBufferBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int statements = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int batch = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		String source = BenchmarkSupport.generateProgram(statements, 41080);
+
+		long before = BenchmarkSupport.usedHeap();
+		List<Token> list = LexicalAnalyser.analyse(source);
+		long listBytes = BenchmarkSupport.usedHeap() - before;
+		int tokens = list.size();
+		list = null;
+
+		before = BenchmarkSupport.usedHeap();
+		TokenBuffer buffer = LexicalAnalyser.analyseToBuffer(source);
+		long bufferBytes = BenchmarkSupport.usedHeap() - before;
+		buffer = null;
+
+		System.out.printf("%d tokens%n", tokens);
+		System.out.printf("List<Token>: %6.1f bytes/token%n", (double) listBytes / tokens);
+		System.out.printf("TokenBuffer: %6.1f bytes/token%n", (double) bufferBytes / tokens);
+
+		System.out.printf("List<Token>: %6d ms GC over %d programs%n", gcMillis(() -> {
+			Object kept = null;
+			for (int i = 0; i < batch; i++)
+				kept = LexicalAnalyser.analyse(source);
+			return kept;
+		}), batch);
+		System.out.printf("TokenBuffer: %6d ms GC over %d programs%n", gcMillis(() -> {
+			Object kept = null;
+			for (int i = 0; i < batch; i++)
+				kept = LexicalAnalyser.analyseToBuffer(source);
+			return kept;
+		}), batch);
+	}
+
+	private interface Batch {
+		Object run() throws Exception;
+	}
+
+	private static long gcMillis(Batch batch) throws Exception {
+		BenchmarkSupport.usedHeap();
+		long before = totalGcMillis();
+		batch.run();
+		return totalGcMillis() - before;
+	}
+
+	private static long totalGcMillis() {
+		long total = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			total += Math.max(0, gc.getCollectionTime());
+		return total;
+	}
+
+}
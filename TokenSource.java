@@ -0,0 +1,226 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+//Pull-based version of LexicalAnalyser.analyse that reads the source through a fixed-size window
+//instead of needing it all as one String. Only the lexeme being scanned has to fit in the window,
+//which grows for an unusually long lexeme, so memory stays bounded however large the input is.
+//Produces exactly the same tokens, and the same LexicalExceptions, as LexicalAnalyser.analyse.
+public class TokenSource implements Closeable {
+
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private final Reader reader;
+	private final IdentifierTable identifiers;
+	private char[] buffer;
+	private CharBuffer view; //the buffer as a CharSequence, for interning straight out of it
+	private int mark; //start of the lexeme being scanned, nothing before it is needed any more
+	private int position; //next character to scan
+	private int limit; //end of the characters read into the buffer
+	private boolean eof;
+
+	//Tokens already scanned but not yet returned, which is at most the three of a quoted literal
+	private final Token[] pending = new Token[3];
+	private int pendingHead;
+	private int pendingCount;
+
+	public TokenSource(Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+
+	public TokenSource(Reader reader, int bufferSize) {
+		this(reader, bufferSize, new IdentifierTable());
+	}
+
+	public TokenSource(Reader reader, int bufferSize, IdentifierTable identifiers) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+		this.reader = reader;
+		this.identifiers = identifiers;
+		this.buffer = new char[bufferSize];
+		this.view = CharBuffer.wrap(buffer);
+	}
+
+	//Reads the channel as UTF-8, failing with an IOException on malformed input
+	public TokenSource(ReadableByteChannel channel) {
+		this(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), DEFAULT_BUFFER_SIZE));
+	}
+
+	public IdentifierTable getIdentifiers() {
+		return this.identifiers;
+	}
+
+	public boolean hasNext() throws LexicalException, IOException {
+		return peek() != null;
+	}
+
+	//Returns the next token without consuming it, or null at the end of the input
+	public Token peek() throws LexicalException, IOException {
+		if (pendingCount == 0 && !scan())
+			return null;
+		return pending[pendingHead];
+	}
+
+	public Token next() throws LexicalException, IOException {
+		Token token = peek();
+		if (token == null)
+			throw new NoSuchElementException("No more tokens");
+		pending[pendingHead] = null;
+		pendingHead = (pendingHead + 1) % pending.length;
+		pendingCount--;
+		return token;
+	}
+
+	//Drains the rest of the source, for callers that do want the whole list after all
+	public List<Token> remaining() throws LexicalException, IOException {
+		List<Token> output = new ArrayList<Token>();
+		while (hasNext())
+			output.add(next());
+		return output;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	//Scans the next lexeme into pending, following the same transitions as LexicalAnalyser.analyse.
+	//Returns false at the end of the input.
+	private boolean scan() throws LexicalException, IOException {
+		byte cls;
+		while (true) {
+			mark = position;
+			if (!ensure(1))
+				return false;
+			cls = LexicalAnalyser.classOf(buffer[mark]);
+			//Both | and || vanish like whitespace
+			if (cls == LexicalAnalyser.PIPE)
+				skip(lengthOfPair(buffer[mark]));
+			else if (cls == LexicalAnalyser.SPACE)
+				skip(1);
+			else
+				break;
+		}
+
+		switch (cls) {
+		case LexicalAnalyser.DIGIT:
+		case LexicalAnalyser.LETTER:
+		case LexicalAnalyser.WORD:
+			byte state = cls;
+			int k = 1;
+			while (ensure(k + 1) && (cls = LexicalAnalyser.classOf(buffer[mark + k])) <= LexicalAnalyser.WORD) {
+				if (cls != state && !(state == LexicalAnalyser.LETTER && cls == LexicalAnalyser.DIGIT))
+					state = LexicalAnalyser.WORD;
+				k++;
+			}
+			skip(k);
+			push(lexemeToken(k, state));
+			return true;
+		case LexicalAnalyser.AMP:
+		case LexicalAnalyser.COMPARE:
+			int pair = lengthOfPair(cls == LexicalAnalyser.AMP ? '&' : '=');
+			skip(pair);
+			push(lexemeToken(pair, cls));
+			return true;
+		case LexicalAnalyser.SQUOTE:
+			int length = lengthOfQuoted(3, false, "Malformed character literal: ");
+			if (length != 3 || buffer[mark + 2] != '\'')
+				throw new LexicalException("Malformed character literal: " + new String(buffer, mark, length));
+			skip(3);
+			push(Token.of(Token.TokenType.SQUOTE));
+			push(new Token(Token.TokenType.CHARLIT, new String(buffer, mark + 1, 1)));
+			push(Token.of(Token.TokenType.SQUOTE));
+			return true;
+		case LexicalAnalyser.DQUOTE:
+			int close = lengthOfQuoted(Integer.MAX_VALUE, true, "Malformed string literal: ") - 1;
+			if (close == 0 || buffer[mark + close] != '"')
+				throw new LexicalException("Malformed string literal: " + new String(buffer, mark, close + 1));
+			skip(close + 1);
+			push(Token.of(Token.TokenType.DQUOTE));
+			push(new Token(Token.TokenType.STRINGLIT, new String(buffer, mark + 1, close - 1)));
+			push(Token.of(Token.TokenType.DQUOTE));
+			return true;
+		default:
+			skip(1);
+			push(lexemeToken(1, cls));
+			return true;
+		}
+	}
+
+	//Keywords are shared tokens and IDs are interned, so only NUM copies out of the buffer
+	private Token lexemeToken(int length, byte cls) throws LexicalException {
+		int keyword = KeywordRecognizer.find(buffer, mark, mark + length);
+		if (keyword >= 0)
+			return KeywordRecognizer.token(keyword, identifiers);
+		if (cls == LexicalAnalyser.DIGIT)
+			return new Token(Token.TokenType.NUM, new String(buffer, mark, length));
+		if (cls == LexicalAnalyser.LETTER)
+			return identifiers.intern(Token.TokenType.ID, view, mark, mark + length);
+		throw new LexicalException("Unrecognised token: " + new String(buffer, mark, length));
+	}
+
+	//Moves past the first length characters of the lexeme at mark
+	private void skip(int length) {
+		position = mark + length;
+	}
+
+	//Length of c on its own or followed by second
+	private int lengthOfPair(char second) throws LexicalException, IOException {
+		if (!ensure(2))
+			throw new LexicalException("Unexpected end of input after: " + buffer[mark]);
+		return buffer[mark + 1] == second ? 2 : 1;
+	}
+
+	//Length of a quoted literal of at most max characters, or up to its closing " if untilQuote is set,
+	//stopping early at the end of the input. Whitespace or | inside it is reported as malformed.
+	private int lengthOfQuoted(int max, boolean untilQuote, String malformed) throws LexicalException, IOException {
+		int k = 1;
+		while (k < max && ensure(k + 1)) {
+			char c = buffer[mark + k++];
+			byte cls = LexicalAnalyser.classOf(c);
+			if (cls == LexicalAnalyser.SPACE || cls == LexicalAnalyser.PIPE)
+				throw new LexicalException(malformed + new String(buffer, mark, k - 1));
+			if (untilQuote && c == '"')
+				break;
+		}
+		return k;
+	}
+
+	//Makes sure at least n characters from mark are in the buffer, sliding the current lexeme to
+	//the front and reading more as needed. Returns false if the input ends first.
+	private boolean ensure(int n) throws IOException {
+		while (limit - mark < n) {
+			if (eof)
+				return false;
+			if (mark > 0) {
+				System.arraycopy(buffer, mark, buffer, 0, limit - mark);
+				limit -= mark;
+				position -= mark;
+				mark = 0;
+			}
+			if (limit == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				view = CharBuffer.wrap(buffer);
+			}
+			int read = reader.read(buffer, limit, buffer.length - limit);
+			if (read < 0)
+				eof = true;
+			else
+				limit += read;
+		}
+		return true;
+	}
+
+	private void push(Token token) {
+		pending[(pendingHead + pendingCount++) % pending.length] = token;
+	}
+
+}
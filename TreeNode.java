@@ -1,7 +1,12 @@
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 
+//Children are held in an array that leaves never allocate, grown as they are added and trimmed to
+//size once the node is finished, and the token is held as is; getChildren() and getToken() wrap
+//them on the way out.
 class TreeNode {
 
 	public enum Label implements Symbol {
@@ -16,39 +21,69 @@ class TreeNode {
 
 	};
 
+	private static final TreeNode[] NO_CHILDREN = {};
+
 	private Label label;
-	private Optional<Token> token;
+	//null for a variable or epsilon
+	private Token token;
 	private TreeNode parent;
-	private List<TreeNode> children;
+	private TreeNode[] children = NO_CHILDREN;
+	private int size;
 
 	public TreeNode(Label label, TreeNode parent) {
 		this.label = label;
-		this.token = Optional.empty();
 		this.parent = parent;
-		children = new ArrayList<TreeNode>();
 	}
 
 	public TreeNode(Label label, Token token, TreeNode parent) {
 		this.label = label;
-		this.token = Optional.of(token);
+		this.token = token;
 		this.parent = parent;
-		children = new ArrayList<TreeNode>();
 	}
 
 	public void addChild(TreeNode child) {
-		children.add(child);
+		if (size == children.length)
+			children = Arrays.copyOf(children, size == 0 ? 1 : size * 2);
+		children[size++] = child;
+	}
+
+	//For the parsers, once no more children will be added
+	void trimChildren() {
+		if (size != children.length)
+			children = size == 0 ? NO_CHILDREN : Arrays.copyOf(children, size);
+	}
+
+	//For walkers in this package, which read children without making a view. Nodes that read their
+	//children lazily override both.
+	int childCount() {
+		return size;
+	}
+
+	TreeNode childAt(int index) {
+		return children[index];
+	}
+
+	//The length of the child array, which is size once the node is finished
+	int childCapacity() {
+		return children.length;
 	}
 
 	public Optional<Token> getToken() {
-		return this.token;
+		return Optional.ofNullable(this.token);
 	}
 
 	public TreeNode getParent() {
 		return this.parent;
 	}
 
+	//For IncrementalParser, which moves reused subtrees into a rebuilt tree
+	void setParent(TreeNode parent) {
+		this.parent = parent;
+	}
+
+	//A live view: changes to it change the node
 	public List<TreeNode> getChildren() {
-		return this.children;
+		return new Children();
 	}
 
 	public Label getLabel() {
@@ -57,7 +92,50 @@ class TreeNode {
 
 	@Override
 	public String toString() {
-		return "[" + this.label + ", " + this.token + "]";
+		return "[" + this.label + ", " + getToken() + "]";
+	}
+
+	private class Children extends AbstractList<TreeNode> implements RandomAccess {
+
+		@Override
+		public TreeNode get(int index) {
+			return children[checkIndex(index, size)];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public TreeNode set(int index, TreeNode child) {
+			TreeNode old = children[checkIndex(index, size)];
+			children[index] = child;
+			return old;
+		}
+
+		@Override
+		public void add(int index, TreeNode child) {
+			checkIndex(index, size + 1);
+			addChild(child);
+			System.arraycopy(children, index, children, index + 1, size - 1 - index);
+			children[index] = child;
+		}
+
+		@Override
+		public TreeNode remove(int index) {
+			TreeNode old = children[checkIndex(index, size)];
+			System.arraycopy(children, index + 1, children, index, size - 1 - index);
+			children[--size] = null;
+			return old;
+		}
+
+		private int checkIndex(int index, int length) {
+			if (index < 0 || index >= length)
+				throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+			return index;
+		}
+
 	}
 
 }
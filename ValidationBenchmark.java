@@ -0,0 +1,24 @@
+//Compares checking a program with SyntacticAnalyser.validate against parsing it into a tree with
+//SyntacticAnalyser.parse, both from a TokenBuffer, reporting tokens per second for increasingly
+//large programs.
+//Usage: java ValidationBenchmark [maxStatements] [millisPerMeasurement]
+public class ValidationBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int maxStatements = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+		System.out.printf("%10s %10s %16s %16s %8s%n", "statements", "tokens", "parse tok/s", "validate tok/s",
+				"speedup");
+		for (int statements = 1000; statements <= maxStatements; statements *= 4) {
+			TokenBuffer tokens = LexicalAnalyser.analyseToBuffer(BenchmarkSupport.generateProgram(statements, statements));
+			if (SyntacticAnalyser.validate(tokens) != null)
+				throw new IllegalStateException("Generated program does not validate");
+			double parse = BenchmarkSupport.nanosPerRun(() -> SyntacticAnalyser.parse(tokens), millis);
+			double validate = BenchmarkSupport.nanosPerRun(() -> SyntacticAnalyser.validate(tokens), millis);
+			System.out.printf("%10d %10d %16.0f %16.0f %8.1f%n", statements, tokens.size(),
+					tokens.size() * 1e9 / parse, tokens.size() * 1e9 / validate, parse / validate);
+		}
+	}
+
+}